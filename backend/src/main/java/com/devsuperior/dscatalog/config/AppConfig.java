@@ -1,5 +1,6 @@
 package com.devsuperior.dscatalog.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -15,11 +16,14 @@ public class AppConfig {
      * Define um bean do tipo {@link BCryptPasswordEncoder} que será utilizado para criptografar senhas.
      * O BCrypt é uma função de hash usada para garantir a segurança das senhas, gerando um hash
      * que pode ser verificado, mas nunca facilmente decodificado.
+     * O custo vem de {@code dscatalog.password.bcrypt-strength}; hashes com outro custo são refeitos
+     * no próximo login (ver {@link com.devsuperior.dscatalog.services.PasswordHashingService#needsRehash}).
      *
+     * @param strength Custo (log2 das rodadas) do BCrypt.
      * @return Um {@link BCryptPasswordEncoder} configurado.
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${dscatalog.password.bcrypt-strength:12}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
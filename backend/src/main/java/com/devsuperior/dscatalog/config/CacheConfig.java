@@ -0,0 +1,23 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Classe de configuração que habilita o cache da aplicação.
+ * Os caches são do tipo Caffeine (W-TinyLFU) e têm tamanho e expiração definidos na propriedade
+ * {@code spring.cache.caffeine.spec}. As estatísticas de acerto, falha, remoção e tempo de carga
+ * são publicadas pelo Actuator em {@code /actuator/metrics/cache.*}.
+ * O interceptador de cache executa antes do transacional, de modo que um acerto no cache
+ * não abre transação.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Nome do cache de {@link com.devsuperior.dscatalog.dto.ProductDTO} indexado pelo ID do produto.
+     */
+    public static final String PRODUCTS = "products";
+}
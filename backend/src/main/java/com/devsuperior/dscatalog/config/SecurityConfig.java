@@ -1,23 +1,107 @@
 package com.devsuperior.dscatalog.config;
 
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.devsuperior.dscatalog.services.AuthService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+/**
+ * Classe de configuração da segurança da aplicação.
+ * As requisições são autenticadas por um token de acesso (JWT assinado com HMAC) emitido em
+ * {@code POST /auth/login}; a validação usa a assinatura, a validade e a geração de tokens do usuário,
+ * mantida em cache pelo {@link AuthService}, sem sessão.
+ *
+ * <p>Leituras do catálogo, login e cadastro ({@code POST /users}) são públicos; as demais operações de
+ * usuários, o Actuator e a exportação de snapshots exigem ADMIN, e as outras escritas, OPERATOR ou ADMIN.</p>
+ */
 @Configuration
 public class SecurityConfig {
 
+    public static final int MIN_SECRET_BYTES = 32;
+
+    @Value("${dscatalog.security.jwt-secret}")
+    private String jwtSecret;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        // Desabilita todas as requisições de passarem pela autenticação
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationConverter converter) throws Exception {
         http.headers(headers -> headers
                 .frameOptions(frameOptions -> frameOptions.sameOrigin()) // <-- Permite frames da mesma origem
-            ).authorizeHttpRequests((authz) -> authz.anyRequest().permitAll());
+            ).authorizeHttpRequests((authz) -> authz
+                .requestMatchers("/h2-console/**", "/actuator/health").permitAll()
+                .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                // cadastro público; as demais operações de usuários exigem ADMIN
+                .requestMatchers(HttpMethod.POST, "/users").permitAll()
+                .requestMatchers(HttpMethod.GET, "/products/**", "/categories/**", "/catalog/**").permitAll()
+                .requestMatchers("/users/**", "/actuator/**", "/catalog/snapshots").hasRole("ADMIN")
+                .anyRequest().hasAnyRole("OPERATOR", "ADMIN"));
+
+        // Sem sessão: cada requisição traz o próprio token no cabeçalho Authorization
+        http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        http.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(converter)));
 
         // Desativa a proteção CSRF (Cross-Site Request Forgery), geralmente usado em apps não baseados em navegação web
         http.csrf().disable();
 
         return http.build();
     }
+
+    @Bean
+    public JwtEncoder jwtEncoder() {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(secretKey()));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(AuthService authService) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(secretKey())
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(), jwt ->
+                authService.isRevoked(jwt)
+                        ? OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Token revogado", null))
+                        : OAuth2TokenValidatorResult.success()));
+        return decoder;
+    }
+
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter(AuthService authService) {
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authService::authoritiesOf);
+        return converter;
+    }
+
+    /**
+     * Retorna a chave HMAC de assinatura dos tokens.
+     *
+     * @return A chave de assinatura.
+     * @throws IllegalStateException Se o segredo tiver menos de {@value #MIN_SECRET_BYTES} bytes, o mínimo para HS256.
+     */
+    private SecretKey secretKey() {
+        byte[] secret = jwtSecret.getBytes(StandardCharsets.UTF_8);
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("dscatalog.security.jwt-secret deve ter pelo menos "
+                    + MIN_SECRET_BYTES + " bytes");
+        }
+        return new SecretKeySpec(secret, "HmacSHA256");
+    }
 }
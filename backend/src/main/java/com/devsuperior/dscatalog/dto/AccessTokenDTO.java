@@ -0,0 +1,62 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Objeto de Transferência de Dados (DTO) com o token de acesso emitido no login.
+ * O token deve ser enviado no cabeçalho {@code Authorization: Bearer <token>}.
+ */
+public class AccessTokenDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String accessToken;
+    private String tokenType;
+    private Long expiresIn;
+
+    /**
+     * Construtor padrão. Inicializa um objeto AccessTokenDTO vazio.
+     */
+    public AccessTokenDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o token com os campos especificados.
+     *
+     * @param accessToken Token de acesso assinado.
+     * @param tokenType   Tipo do token ("Bearer").
+     * @param expiresIn   Validade do token, em segundos.
+     */
+    public AccessTokenDTO(String accessToken, String tokenType, Long expiresIn) {
+        this.accessToken = accessToken;
+        this.tokenType = tokenType;
+        this.expiresIn = expiresIn;
+    }
+
+    /**
+     * Retorna o token de acesso.
+     *
+     * @return Token de acesso assinado.
+     */
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    /**
+     * Retorna o tipo do token.
+     *
+     * @return Tipo do token.
+     */
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    /**
+     * Retorna a validade do token.
+     *
+     * @return Validade do token, em segundos.
+     */
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+}
@@ -0,0 +1,104 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Objeto de Transferência de Dados (DTO) com o resultado da importação de uma linha do arquivo NDJSON.
+ */
+public class BulkImportLineDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private Long line;
+    private String status;
+    private Long id;
+    private String message;
+
+    /**
+     * Construtor padrão. Inicializa um objeto BulkImportLineDTO vazio.
+     */
+    public BulkImportLineDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o resultado com os campos especificados.
+     *
+     * @param line    Número da linha no arquivo (começando em 1).
+     * @param status  Situação da linha: CREATED, INVALID ou FAILED.
+     * @param id      ID do produto criado ({@code null} se a linha não foi gravada).
+     * @param message Mensagem de erro ({@code null} se a linha foi gravada).
+     */
+    public BulkImportLineDTO(Long line, String status, Long id, String message) {
+        this.line = line;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    /**
+     * Retorna o número da linha no arquivo.
+     *
+     * @return Número da linha.
+     */
+    public Long getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna a situação da linha.
+     *
+     * @return CREATED, INVALID ou FAILED.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Define a situação da linha.
+     *
+     * @param status CREATED, INVALID ou FAILED.
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Retorna o ID do produto criado.
+     *
+     * @return ID do produto, ou {@code null} se a linha não foi gravada.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Define o ID do produto criado.
+     *
+     * @param id ID do produto.
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Retorna a mensagem de erro da linha.
+     *
+     * @return Mensagem de erro, ou {@code null} se a linha foi gravada.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Define a mensagem de erro da linha.
+     *
+     * @param message Mensagem de erro.
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
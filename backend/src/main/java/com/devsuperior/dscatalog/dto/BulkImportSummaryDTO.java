@@ -0,0 +1,62 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Objeto de Transferência de Dados (DTO) com o resumo de uma importação em lote de produtos.
+ * É enviado como a última linha da resposta NDJSON da importação.
+ */
+public class BulkImportSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long total;
+    private Long created;
+    private Long rejected;
+
+    /**
+     * Construtor padrão. Inicializa um objeto BulkImportSummaryDTO vazio.
+     */
+    public BulkImportSummaryDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o resumo com os campos especificados.
+     *
+     * @param total    Quantidade de linhas processadas.
+     * @param created  Quantidade de produtos criados.
+     * @param rejected Quantidade de linhas inválidas ou que falharam ao gravar.
+     */
+    public BulkImportSummaryDTO(Long total, Long created, Long rejected) {
+        this.total = total;
+        this.created = created;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Retorna a quantidade de linhas processadas.
+     *
+     * @return Quantidade de linhas.
+     */
+    public Long getTotal() {
+        return total;
+    }
+
+    /**
+     * Retorna a quantidade de produtos criados.
+     *
+     * @return Quantidade de produtos criados.
+     */
+    public Long getCreated() {
+        return created;
+    }
+
+    /**
+     * Retorna a quantidade de linhas rejeitadas.
+     *
+     * @return Quantidade de linhas inválidas ou que falharam ao gravar.
+     */
+    public Long getRejected() {
+        return rejected;
+    }
+}
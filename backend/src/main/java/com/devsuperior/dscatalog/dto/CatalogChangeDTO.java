@@ -0,0 +1,84 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.devsuperior.dscatalog.entities.CatalogChange;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa um registro do feed de alterações do catálogo.
+ */
+public class CatalogChangeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long position;
+    private String entityType;
+    private Long entityId;
+    private String operation;
+    private Instant changedAt;
+
+    /**
+     * Construtor padrão. Inicializa um objeto CatalogChangeDTO vazio.
+     */
+    public CatalogChangeDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o DTO a partir de um registro do log de alterações.
+     *
+     * @param entity Registro do log de alterações.
+     */
+    public CatalogChangeDTO(CatalogChange entity) {
+        this.position = entity.getPosition();
+        this.entityType = entity.getEntityType();
+        this.entityId = entity.getEntityId();
+        this.operation = entity.getOperation();
+        this.changedAt = entity.getChangedAt();
+    }
+
+    /**
+     * Retorna a posição do registro no feed.
+     *
+     * @return Posição do registro.
+     */
+    public Long getPosition() {
+        return position;
+    }
+
+    /**
+     * Retorna o tipo da entidade alterada.
+     *
+     * @return Tipo da entidade (PRODUCT ou CATEGORY).
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Retorna o ID da entidade alterada.
+     *
+     * @return ID da entidade.
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Retorna a operação realizada.
+     *
+     * @return Operação (INSERT, UPDATE ou DELETE).
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Retorna o momento da alteração.
+     *
+     * @return Momento da alteração.
+     */
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa uma fatia do feed de alterações do catálogo.
+ * O consumidor deve guardar o token {@code next} e enviá-lo no parâmetro {@code since} da próxima chamada.
+ */
+public class CatalogChangesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<CatalogChangeDTO> changes;
+    private String next;
+    private Boolean hasMore;
+
+    /**
+     * Construtor padrão. Inicializa um objeto CatalogChangesDTO vazio.
+     */
+    public CatalogChangesDTO() {
+    }
+
+    /**
+     * Construtor que inicializa a fatia com os campos especificados.
+     *
+     * @param changes Alterações da fatia, em ordem de posição.
+     * @param next    Token a ser enviado em {@code since} na próxima chamada.
+     * @param hasMore Indica se já existem mais alterações após esta fatia.
+     */
+    public CatalogChangesDTO(List<CatalogChangeDTO> changes, String next, Boolean hasMore) {
+        this.changes = changes;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Retorna as alterações da fatia.
+     *
+     * @return Lista de alterações.
+     */
+    public List<CatalogChangeDTO> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Retorna o token da próxima chamada.
+     *
+     * @return Token opaco; igual ao {@code since} recebido quando não há alterações novas.
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * Indica se já existem mais alterações após esta fatia.
+     *
+     * @return {@code true} se o consumidor deve chamar novamente sem esperar.
+     */
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+}
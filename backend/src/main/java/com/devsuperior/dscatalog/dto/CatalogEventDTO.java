@@ -0,0 +1,74 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa uma alteração do catálogo enviada
+ * aos assinantes do stream de eventos (SSE).
+ */
+public class CatalogEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String entityType;
+    private Long entityId;
+    private String operation;
+    private Object data;
+
+    /**
+     * Construtor padrão. Inicializa um objeto CatalogEventDTO vazio.
+     */
+    public CatalogEventDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o evento com os campos especificados.
+     *
+     * @param entityType Tipo da entidade alterada (PRODUCT ou CATEGORY).
+     * @param entityId   ID da entidade alterada.
+     * @param operation  Operação realizada (INSERT, UPDATE ou DELETE).
+     * @param data       Estado da entidade após a alteração ({@code null} quando removida).
+     */
+    public CatalogEventDTO(String entityType, Long entityId, String operation, Object data) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.data = data;
+    }
+
+    /**
+     * Retorna o tipo da entidade alterada.
+     *
+     * @return Tipo da entidade (PRODUCT ou CATEGORY).
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Retorna o ID da entidade alterada.
+     *
+     * @return ID da entidade.
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Retorna a operação realizada.
+     *
+     * @return Operação (INSERT, UPDATE ou DELETE).
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Retorna o estado da entidade após a alteração.
+     *
+     * @return {@link ProductDTO} ou {@link CategoryDTO}, ou {@code null} quando removida.
+     */
+    public Object getData() {
+        return data;
+    }
+}
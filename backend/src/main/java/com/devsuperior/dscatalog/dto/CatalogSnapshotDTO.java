@@ -0,0 +1,99 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Objeto de Transferência de Dados (DTO) com os dados de um snapshot do catálogo recém-exportado.
+ */
+public class CatalogSnapshotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String file;
+    private String since;
+    private Integer products;
+    private Integer categories;
+    private Long bytes;
+    private Instant createdAt;
+
+    /**
+     * Construtor padrão. Inicializa um objeto CatalogSnapshotDTO vazio.
+     */
+    public CatalogSnapshotDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o snapshot com os campos especificados.
+     *
+     * @param file       Nome do arquivo do snapshot.
+     * @param since      Token do feed de alterações a partir do qual o snapshot deve ser atualizado.
+     * @param products   Quantidade de produtos.
+     * @param categories Quantidade de categorias.
+     * @param bytes      Tamanho do arquivo em bytes.
+     * @param createdAt  Momento da exportação.
+     */
+    public CatalogSnapshotDTO(String file, String since, Integer products, Integer categories, Long bytes,
+                              Instant createdAt) {
+        this.file = file;
+        this.since = since;
+        this.products = products;
+        this.categories = categories;
+        this.bytes = bytes;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Retorna o nome do arquivo do snapshot.
+     *
+     * @return Nome do arquivo.
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Retorna o token do feed de alterações ({@code GET /catalog/changes?since=}) já refletido no snapshot.
+     *
+     * @return Token do feed de alterações.
+     */
+    public String getSince() {
+        return since;
+    }
+
+    /**
+     * Retorna a quantidade de produtos do snapshot.
+     *
+     * @return Quantidade de produtos.
+     */
+    public Integer getProducts() {
+        return products;
+    }
+
+    /**
+     * Retorna a quantidade de categorias do snapshot.
+     *
+     * @return Quantidade de categorias.
+     */
+    public Integer getCategories() {
+        return categories;
+    }
+
+    /**
+     * Retorna o tamanho do arquivo.
+     *
+     * @return Tamanho em bytes.
+     */
+    public Long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Retorna o momento da exportação.
+     *
+     * @return Momento da exportação.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
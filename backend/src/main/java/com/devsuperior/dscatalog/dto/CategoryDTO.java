@@ -16,6 +16,7 @@ public class CategoryDTO implements Serializable {
 
     private Long id;
     private String name;
+    private Long version;
 
     /**
      * Construtor padrão. Inicializa um objeto CategoryDTO vazio.
@@ -31,6 +32,7 @@ public class CategoryDTO implements Serializable {
     public CategoryDTO(Category entity) {
         this.id = entity.getId();
         this.name = entity.getName();
+        this.version = entity.getVersion();
     }
 
     /**
@@ -80,6 +82,24 @@ public class CategoryDTO implements Serializable {
         this.name = name;
     }
 
+    /**
+     * Retorna a versão da categoria, usada para compor o ETag das respostas.
+     * 
+     * @return Versão da categoria.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Define a versão da categoria.
+     * 
+     * @param version Versão da categoria.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Verifica se dois objetos CategoryDTO são iguais, comparando os campos id e name.
      * 
@@ -0,0 +1,79 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa uma fatia de resultados paginados por cursor (keyset).
+ * Diferente de uma {@code Page}, não informa o total de elementos, evitando a consulta de contagem,
+ * e carrega um token opaco para buscar a próxima fatia.
+ *
+ * @param <T> Tipo dos elementos da fatia.
+ */
+public class CursorSliceDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+    private String next;
+
+    /**
+     * Construtor padrão. Inicializa um objeto CursorSliceDTO vazio.
+     */
+    public CursorSliceDTO() {
+    }
+
+    /**
+     * Construtor que inicializa a fatia com os campos especificados.
+     *
+     * @param content Elementos da fatia.
+     * @param size    Tamanho solicitado para a fatia.
+     * @param hasNext Indica se existem mais elementos após esta fatia.
+     * @param next    Token a ser enviado no parâmetro {@code after} para buscar a próxima fatia
+     *                ({@code null} quando não há próxima fatia).
+     */
+    public CursorSliceDTO(List<T> content, Integer size, Boolean hasNext, String next) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.next = next;
+    }
+
+    /**
+     * Retorna os elementos da fatia.
+     *
+     * @return Lista de elementos.
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Retorna o tamanho solicitado para a fatia.
+     *
+     * @return Tamanho da fatia.
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    /**
+     * Indica se existem mais elementos após esta fatia.
+     *
+     * @return {@code true} se houver uma próxima fatia.
+     */
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    /**
+     * Retorna o token da próxima fatia.
+     *
+     * @return Token opaco, ou {@code null} se esta for a última fatia.
+     */
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Objeto de Transferência de Dados (DTO) com as credenciais enviadas no login.
+ */
+public class LoginDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank(message = "Campo Obrigatório")
+    private String email;
+
+    @NotBlank(message = "Campo Obrigatório")
+    private String password;
+
+    /**
+     * Construtor padrão. Inicializa um objeto LoginDTO vazio.
+     */
+    public LoginDTO() {
+    }
+
+    /**
+     * Retorna o email do usuário.
+     *
+     * @return Email do usuário.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Define o email do usuário.
+     *
+     * @param email Email do usuário.
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * Retorna a senha do usuário.
+     *
+     * @return Senha do usuário.
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Define a senha do usuário.
+     *
+     * @param password Senha do usuário.
+     */
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
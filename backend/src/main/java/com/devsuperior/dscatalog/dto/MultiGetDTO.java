@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa o resultado de uma busca por lista de IDs.
+ * Os elementos ficam na mesma ordem dos IDs solicitados; um ID inexistente ocupa sua posição com
+ * {@code null} e também aparece na lista {@code missing}.
+ *
+ * @param <T> Tipo dos elementos.
+ */
+public class MultiGetDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content = new ArrayList<>();
+    private List<Long> missing = new ArrayList<>();
+
+    /**
+     * Construtor padrão. Inicializa um objeto MultiGetDTO vazio.
+     */
+    public MultiGetDTO() {
+    }
+
+    /**
+     * Construtor que monta o resultado na ordem dos IDs solicitados.
+     *
+     * @param ids   IDs solicitados, na ordem da requisição.
+     * @param found Elementos encontrados, indexados pelo ID.
+     */
+    public MultiGetDTO(List<Long> ids, Map<Long, T> found) {
+        for (Long id : ids) {
+            T item = found.get(id);
+            content.add(item);
+            if (item == null) {
+                missing.add(id);
+            }
+        }
+    }
+
+    /**
+     * Retorna os elementos, na ordem dos IDs solicitados.
+     *
+     * @return Lista de elementos ({@code null} nas posições de IDs inexistentes).
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Retorna os IDs solicitados que não foram encontrados.
+     *
+     * @return Lista de IDs inexistentes.
+     */
+    public List<Long> getMissing() {
+        return missing;
+    }
+}
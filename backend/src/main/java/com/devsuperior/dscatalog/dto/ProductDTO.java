@@ -38,6 +38,7 @@ public class ProductDTO implements Serializable {
     
     @PastOrPresent(message = "A data do produto não pode ser futura")
     private Instant date;
+    private Long version;
     private List<CategoryDTO> categories = new ArrayList<>();
 
     /**
@@ -77,6 +78,7 @@ public class ProductDTO implements Serializable {
         this.price = entity.getPrice();
         this.imgUrl = entity.getImgUrl();
         this.date = entity.getDate();
+        this.version = entity.getVersion();
     }
 
     /**
@@ -198,6 +200,24 @@ public class ProductDTO implements Serializable {
         this.date = date;
     }
 
+    /**
+     * Retorna a versão do produto, usada para compor o ETag das respostas.
+     * 
+     * @return Versão do produto.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Define a versão do produto.
+     * 
+     * @param version Versão do produto.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Retorna a lista de categorias associadas ao produto.
      * 
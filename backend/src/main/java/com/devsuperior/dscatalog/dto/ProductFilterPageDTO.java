@@ -0,0 +1,89 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa uma página de produtos filtrados por uma
+ * expressão de categorias, com as facetas (quantidade de produtos do resultado em cada categoria).
+ */
+public class ProductFilterPageDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<ProductSummaryDTO> content;
+    private Integer page;
+    private Integer size;
+    private Long totalElements;
+    private Map<Long, Long> facets;
+
+    /**
+     * Construtor padrão. Inicializa um objeto ProductFilterPageDTO vazio.
+     */
+    public ProductFilterPageDTO() {
+    }
+
+    /**
+     * Construtor que inicializa a página com os campos especificados.
+     *
+     * @param content       Produtos da página.
+     * @param page          Número da página.
+     * @param size          Tamanho da página.
+     * @param totalElements Quantidade total de produtos que atendem ao filtro.
+     * @param facets        Quantidade de produtos do resultado por ID de categoria.
+     */
+    public ProductFilterPageDTO(List<ProductSummaryDTO> content, Integer page, Integer size, Long totalElements,
+                                Map<Long, Long> facets) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.facets = facets;
+    }
+
+    /**
+     * Retorna os produtos da página.
+     *
+     * @return Lista de produtos.
+     */
+    public List<ProductSummaryDTO> getContent() {
+        return content;
+    }
+
+    /**
+     * Retorna o número da página.
+     *
+     * @return Número da página (a partir de 0).
+     */
+    public Integer getPage() {
+        return page;
+    }
+
+    /**
+     * Retorna o tamanho da página.
+     *
+     * @return Tamanho da página.
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    /**
+     * Retorna a quantidade total de produtos que atendem ao filtro.
+     *
+     * @return Quantidade total de produtos.
+     */
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    /**
+     * Retorna as facetas do resultado.
+     *
+     * @return Mapa de ID da categoria para quantidade de produtos do resultado.
+     */
+    public Map<Long, Long> getFacets() {
+        return facets;
+    }
+}
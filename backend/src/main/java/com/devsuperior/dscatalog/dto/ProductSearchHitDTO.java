@@ -0,0 +1,86 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa um resultado da busca textual de produtos.
+ * Contém apenas os dados mantidos no índice em memória, para que a busca não precise consultar o banco.
+ */
+public class ProductSearchHitDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String name;
+    private Double price;
+    private String imgUrl;
+    private Double score;
+
+    /**
+     * Construtor padrão. Inicializa um objeto ProductSearchHitDTO vazio.
+     */
+    public ProductSearchHitDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o resultado com os campos especificados.
+     *
+     * @param id     Identificador do produto.
+     * @param name   Nome do produto.
+     * @param price  Preço do produto.
+     * @param imgUrl URL da imagem do produto.
+     * @param score  Relevância do produto para a consulta (quanto maior, mais relevante).
+     */
+    public ProductSearchHitDTO(Long id, String name, Double price, String imgUrl, Double score) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.imgUrl = imgUrl;
+        this.score = score;
+    }
+
+    /**
+     * Retorna o ID do produto.
+     *
+     * @return ID do produto.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o nome do produto.
+     *
+     * @return Nome do produto.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retorna o preço do produto.
+     *
+     * @return Preço do produto.
+     */
+    public Double getPrice() {
+        return price;
+    }
+
+    /**
+     * Retorna a URL da imagem do produto.
+     *
+     * @return URL da imagem do produto.
+     */
+    public String getImgUrl() {
+        return imgUrl;
+    }
+
+    /**
+     * Retorna a relevância do produto para a consulta.
+     *
+     * @return Relevância calculada pelo índice.
+     */
+    public Double getScore() {
+        return score;
+    }
+}
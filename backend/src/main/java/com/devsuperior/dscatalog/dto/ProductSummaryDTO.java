@@ -0,0 +1,102 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Objeto de Transferência de Dados (DTO) resumido de um produto, usado nas listagens.
+ * Não contém a descrição, que é uma coluna TEXT exibida apenas no detalhe do produto,
+ * e referencia as categorias apenas pelos seus IDs.
+ * É montado diretamente na consulta JPQL (expressão de construtor), sem carregar entidades.
+ */
+public class ProductSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String name;
+    private Double price;
+    private String imgUrl;
+    private Instant date;
+
+    private List<Long> categoryIds = new ArrayList<>();
+
+    /**
+     * Construtor padrão. Inicializa um objeto ProductSummaryDTO vazio.
+     */
+    public ProductSummaryDTO() {
+    }
+
+    /**
+     * Construtor usado pela expressão de construtor das consultas de listagem.
+     *
+     * @param id     Identificador do produto.
+     * @param name   Nome do produto.
+     * @param price  Preço do produto.
+     * @param imgUrl URL da imagem do produto.
+     * @param date   Data de criação do produto.
+     */
+    public ProductSummaryDTO(Long id, String name, Double price, String imgUrl, Instant date) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.imgUrl = imgUrl;
+        this.date = date;
+    }
+
+    /**
+     * Retorna o ID do produto.
+     *
+     * @return ID do produto.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o nome do produto.
+     *
+     * @return Nome do produto.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retorna o preço do produto.
+     *
+     * @return Preço do produto.
+     */
+    public Double getPrice() {
+        return price;
+    }
+
+    /**
+     * Retorna a URL da imagem do produto.
+     *
+     * @return URL da imagem do produto.
+     */
+    public String getImgUrl() {
+        return imgUrl;
+    }
+
+    /**
+     * Retorna a data de criação do produto.
+     *
+     * @return Data de criação do produto.
+     */
+    public Instant getDate() {
+        return date;
+    }
+
+    /**
+     * Retorna os IDs das categorias do produto.
+     *
+     * @return Lista de IDs de categorias.
+     */
+    public List<Long> getCategoryIds() {
+        return categoryIds;
+    }
+}
@@ -0,0 +1,62 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Objeto de Transferência de Dados (DTO) que representa uma sugestão de autocompletar
+ * (nome de produto ou de categoria).
+ */
+public class SuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String type;
+    private Long id;
+    private String text;
+
+    /**
+     * Construtor padrão. Inicializa um objeto SuggestionDTO vazio.
+     */
+    public SuggestionDTO() {
+    }
+
+    /**
+     * Construtor que inicializa a sugestão com os campos especificados.
+     *
+     * @param type Tipo da entidade sugerida (PRODUCT ou CATEGORY).
+     * @param id   ID da entidade sugerida.
+     * @param text Nome da entidade, como exibido ao usuário.
+     */
+    public SuggestionDTO(String type, Long id, String text) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+    }
+
+    /**
+     * Retorna o tipo da entidade sugerida.
+     *
+     * @return Tipo da entidade (PRODUCT ou CATEGORY).
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Retorna o ID da entidade sugerida.
+     *
+     * @return ID da entidade.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o nome da entidade sugerida.
+     *
+     * @return Nome da entidade.
+     */
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,51 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Objeto de Transferência de Dados (DTO) de um produto na classificação de popularidade,
+ * com a sua pontuação na janela consultada.
+ */
+public class TopProductDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ProductDTO product;
+    private Double score;
+
+    /**
+     * Construtor padrão. Inicializa um objeto TopProductDTO vazio.
+     */
+    public TopProductDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o item da classificação.
+     *
+     * @param product Produto classificado.
+     * @param score   Pontuação do produto na janela.
+     */
+    public TopProductDTO(ProductDTO product, Double score) {
+        this.product = product;
+        this.score = score;
+    }
+
+    /**
+     * Retorna o produto classificado.
+     *
+     * @return DTO do produto.
+     */
+    public ProductDTO getProduct() {
+        return product;
+    }
+
+    /**
+     * Retorna a pontuação do produto na janela consultada.
+     * Na janela {@code all} é o total de visualizações; nas demais, visualizações com decaimento exponencial.
+     *
+     * @return Pontuação do produto.
+     */
+    public Double getScore() {
+        return score;
+    }
+}
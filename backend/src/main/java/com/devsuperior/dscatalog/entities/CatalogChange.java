@@ -0,0 +1,154 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Entidade que representa um registro do log de alterações do catálogo.
+ * Cada inserção, atualização ou remoção de produto ou categoria gera um registro, gravado na mesma
+ * transação da alteração. A posição do registro no feed (token) não é o ID, alocado antes do commit,
+ * mas um valor atribuído imediatamente antes do commit a partir de {@link CatalogPosition}, crescente
+ * na ordem de commit.
+ */
+@Entity
+@Table(name = "tb_catalog_change")
+public class CatalogChange implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String PRODUCT = "PRODUCT";
+	public static final String CATEGORY = "CATEGORY";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "catalog_change_seq")
+	@SequenceGenerator(name = "catalog_change_seq", sequenceName = "tb_catalog_change_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(nullable = false, length = 16)
+	private String entityType;
+
+	@Column(nullable = false)
+	private Long entityId;
+
+	@Column(nullable = false, length = 16)
+	private String operation;
+
+	@Column(nullable = false, columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant changedAt;
+
+	// gravada por SQL antes do commit (CatalogChangeLogService), nunca pelo Hibernate
+	@Column(unique = true, insertable = false, updatable = false)
+	private Long position;
+
+	/**
+	 * Construtor padrão. Inicializa um objeto CatalogChange vazio.
+	 */
+	public CatalogChange() {
+	}
+
+	/**
+	 * Construtor que inicializa o registro com os campos especificados.
+	 *
+	 * @param entityType Tipo da entidade alterada ({@link #PRODUCT} ou {@link #CATEGORY}).
+	 * @param entityId   ID da entidade alterada.
+	 * @param operation  Operação realizada (INSERT, UPDATE ou DELETE).
+	 * @param changedAt  Momento da alteração.
+	 */
+	public CatalogChange(String entityType, Long entityId, String operation, Instant changedAt) {
+		this.entityType = entityType;
+		this.entityId = entityId;
+		this.operation = operation;
+		this.changedAt = changedAt;
+	}
+
+	/**
+	 * Retorna o ID do registro.
+	 *
+	 * @return ID do registro.
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * Retorna o tipo da entidade alterada.
+	 *
+	 * @return Tipo da entidade ({@link #PRODUCT} ou {@link #CATEGORY}).
+	 */
+	public String getEntityType() {
+		return entityType;
+	}
+
+	/**
+	 * Retorna o ID da entidade alterada.
+	 *
+	 * @return ID da entidade.
+	 */
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	/**
+	 * Retorna a operação realizada.
+	 *
+	 * @return Operação (INSERT, UPDATE ou DELETE).
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Retorna o momento da alteração.
+	 *
+	 * @return Momento da alteração.
+	 */
+	public Instant getChangedAt() {
+		return changedAt;
+	}
+
+	/**
+	 * Retorna a posição do registro no feed de alterações.
+	 *
+	 * @return Posição do registro, ou {@code null} enquanto a transação que o gravou não chega ao commit.
+	 */
+	public Long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Implementação de hashCode baseada no ID do registro.
+	 *
+	 * @return Código hash do registro.
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	/**
+	 * Verifica se dois registros são iguais com base no ID.
+	 *
+	 * @param obj Objeto a ser comparado.
+	 * @return {@code true} se os registros tiverem o mesmo ID; caso contrário, {@code false}.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CatalogChange other = (CatalogChange) obj;
+		return Objects.equals(id, other.id);
+	}
+}
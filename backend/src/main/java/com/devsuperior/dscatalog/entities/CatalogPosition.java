@@ -0,0 +1,83 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entidade com a última posição atribuída no feed de alterações do catálogo (uma única linha, ID {@link #ID}).
+ *
+ * <p>A linha é atualizada por cada transação que altera o catálogo imediatamente antes do commit, reservando
+ * as posições dos seus registros de {@link CatalogChange}. O bloqueio da linha dura até o commit, de modo que
+ * as posições são atribuídas na ordem de commit das transações, inclusive entre instâncias.</p>
+ */
+@Entity
+@Table(name = "tb_catalog_position")
+public class CatalogPosition implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final long ID = 1L;
+
+	@Id
+	private Long id;
+
+	@Column(nullable = false)
+	private Long lastPosition;
+
+	/**
+	 * Construtor padrão. Inicializa um objeto CatalogPosition vazio.
+	 */
+	public CatalogPosition() {
+	}
+
+	/**
+	 * Retorna o ID da linha (sempre {@link #ID}).
+	 *
+	 * @return ID da linha.
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * Retorna a última posição atribuída.
+	 *
+	 * @return Última posição atribuída.
+	 */
+	public Long getLastPosition() {
+		return lastPosition;
+	}
+
+	/**
+	 * Implementação de hashCode baseada no ID.
+	 *
+	 * @return Código hash da linha.
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	/**
+	 * Verifica se duas linhas são iguais com base no ID.
+	 *
+	 * @param obj Objeto a ser comparado.
+	 * @return {@code true} se as linhas tiverem o mesmo ID; caso contrário, {@code false}.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CatalogPosition other = (CatalogPosition) obj;
+		return Objects.equals(id, other.id);
+	}
+}
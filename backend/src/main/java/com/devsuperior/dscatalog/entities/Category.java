@@ -6,6 +6,10 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -14,21 +18,28 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Entidade que representa a categoria de produtos no sistema.
  * Implementa {@link Serializable} para que seus objetos possam ser serializados.
  * Cada categoria tem um conjunto de produtos associados e possui metadados sobre o momento de sua criação e última atualização.
+ * Fica no cache de segundo nível (região {@code dscatalog.category}), pois é lida em quase toda
+ * leitura e escrita de produtos e raramente muda.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dscatalog.category")
 @Table(name = "tb_category")
 public class Category implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+	@SequenceGenerator(name = "category_seq", sequenceName = "tb_category_seq", allocationSize = 50)
 	private Long id;
 	private String name;
 	
@@ -38,6 +49,9 @@ public class Category implements Serializable {
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant updatedAt;
 	
+	@Version
+	private Long version;
+	
 	@ManyToMany(mappedBy = "categories")
 	private Set<Product> products = new HashSet<>();
 
@@ -112,6 +126,15 @@ public class Category implements Serializable {
 		return updatedAt;
 	}
 
+	/**
+	 * Retorna a versão da categoria, incrementada a cada atualização.
+	 * 
+	 * @return Versão da categoria.
+	 */
+	public Long getVersion() {
+		return version;
+	}
+
 	/**
 	 * Método de callback executado automaticamente antes de persistir a entidade.
 	 * Define o valor de {@code createdAt} como o momento atual.
@@ -1,5 +1,8 @@
 package com.devsuperior.dscatalog.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.time.Instant;
@@ -19,7 +22,8 @@ public class Product implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "tb_product_seq", allocationSize = 50)
     private Long id;
     private String name;
 
@@ -31,7 +35,18 @@ public class Product implements Serializable {
     @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
     private Instant date;
 
+    @Version
+    private Long version;
+
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant updatedAt;
+
+    // mantido pelo PopularityService com UPDATEs em lote; nunca escrito pelo JPA
+    @Column(insertable = false, updatable = false)
+    private Long viewCount;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dscatalog.product.categories")
     @JoinTable(name = "tb_product_category",
                joinColumns = @JoinColumn(name = "product_id"),
                inverseJoinColumns = @JoinColumn(name = "category_id"))
@@ -170,6 +185,43 @@ public class Product implements Serializable {
         this.date = date;
     }
 
+    /**
+     * Retorna a versão do produto, incrementada a cada atualização.
+     * 
+     * @return Versão do produto.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retorna a data da última alteração do produto.
+     * 
+     * @return Data da última alteração do produto.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Retorna a quantidade de visualizações do produto já gravadas no banco.
+     * 
+     * @return Quantidade de visualizações ({@code null} se o produto nunca foi visualizado).
+     */
+    public Long getViewCount() {
+        return viewCount;
+    }
+
+    /**
+     * Método de callback executado automaticamente antes de persistir ou atualizar a entidade.
+     * Define o valor de {@code updatedAt} como o momento atual.
+     */
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = Instant.now();
+    }
+
     /**
      * Retorna o conjunto de categorias associadas ao produto.
      * 
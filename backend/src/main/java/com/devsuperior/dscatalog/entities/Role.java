@@ -5,26 +5,36 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
  * Entidade que representa o papel (role) de um usuário no sistema.
  * Implementa {@link Serializable} para permitir a serialização dos objetos da classe.
  * Cada papel pode estar associado a vários usuários.
+ * Fica no cache de segundo nível (região {@code dscatalog.role}), pois é lido a cada carga de usuário
+ * e raramente muda.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dscatalog.role")
 @Table(name = "tb_role")
 public class Role implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_seq")
+    @SequenceGenerator(name = "role_seq", sequenceName = "tb_role_seq", allocationSize = 50)
     private Long id;
     private String authority;
 
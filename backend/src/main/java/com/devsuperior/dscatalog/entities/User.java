@@ -7,26 +7,48 @@ import java.util.Set;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 /**
  * Entidade que representa um usuário do sistema.
  * Implementa {@link Serializable} para permitir a serialização dos objetos da classe.
  * Cada usuário possui informações pessoais e um conjunto de papéis (roles) que definem suas permissões.
+ * Os papéis são carregados sob demanda: em lotes de até 100 usuários nas listagens e pelo grafo
+ * {@link #WITH_ROLES} nas buscas de um único usuário.
  */
 @Entity
 @Table(name = "tb_user")
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 public class User implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Nome do grafo de entidade que carrega o usuário junto com seus papéis em uma única consulta.
+     */
+    public static final String WITH_ROLES = "User.withRoles";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "tb_user_seq", allocationSize = 50)
     private Long id;
     private String firstName;
     private String lastName;
+
+    @Column(unique = true)
     private String email;
     private String password;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long tokenVersion;
+
+    @ManyToMany
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dscatalog.user.roles")
     @JoinTable(name = "tb_user_role", 
                joinColumns = @JoinColumn(name = "user_id"), 
                inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -146,6 +168,25 @@ public class User implements Serializable {
         this.password = password;
     }
 
+    /**
+     * Retorna a geração dos tokens do usuário. Ela é gravada nos tokens emitidos e incrementada
+     * a cada alteração do usuário, o que revoga os tokens das gerações anteriores.
+     *
+     * @return Geração dos tokens.
+     */
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * Define a geração dos tokens do usuário.
+     *
+     * @param tokenVersion Geração dos tokens.
+     */
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     /**
      * Retorna o conjunto de papéis (roles) atribuídos ao usuário.
      *
@@ -0,0 +1,20 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.entities.CatalogChange;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    @Query("SELECT obj FROM CatalogChange obj WHERE obj.position > :position ORDER BY obj.position")
+    List<CatalogChange> findNext(Long position, Pageable limit);
+
+    @Query("SELECT COALESCE(MAX(obj.position), 0) FROM CatalogChange obj")
+    long findLastPosition();
+}
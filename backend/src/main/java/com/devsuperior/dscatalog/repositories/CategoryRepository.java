@@ -1,10 +1,31 @@
 package com.devsuperior.dscatalog.repositories;
 
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.repositories.projections.VersionProjection;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @Query("SELECT obj FROM Category obj WHERE obj.id > :id ORDER BY obj.id")
+    List<Category> findNextById(Long id, Pageable limit);
+
+    @Query("SELECT obj FROM Category obj "
+            + "WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) "
+            + "ORDER BY obj.name, obj.id")
+    List<Category> findNextByName(String name, Long id, Pageable limit);
+
+    @Query("SELECT obj.id FROM Category obj")
+    List<Long> findAllIds();
+
+    @Query("SELECT obj.version AS version, COALESCE(obj.updatedAt, obj.createdAt) AS updatedAt "
+            + "FROM Category obj WHERE obj.id = :id")
+    Optional<VersionProjection> findVersionById(Long id);
 }
@@ -1,10 +1,69 @@
 package com.devsuperior.dscatalog.repositories;
 
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.repositories.projections.VersionProjection;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @Query(value = "SELECT obj.id FROM Product obj",
+            countQuery = "SELECT COUNT(obj) FROM Product obj")
+    Page<Long> findPageIds(Pageable pageable);
+
+    @Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+    List<Product> findWithCategoriesByIdIn(List<Long> ids);
+
+    @Query(value = "SELECT new com.devsuperior.dscatalog.dto.ProductSummaryDTO("
+            + "obj.id, obj.name, obj.price, obj.imgUrl, obj.date) FROM Product obj",
+            countQuery = "SELECT COUNT(obj) FROM Product obj")
+    Page<ProductSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ProductSummaryDTO("
+            + "obj.id, obj.name, obj.price, obj.imgUrl, obj.date) FROM Product obj "
+            + "WHERE obj.id > :id ORDER BY obj.id")
+    List<ProductSummaryDTO> findNextSummariesById(Long id, Pageable limit);
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ProductSummaryDTO("
+            + "obj.id, obj.name, obj.price, obj.imgUrl, obj.date) FROM Product obj "
+            + "WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) "
+            + "ORDER BY obj.name, obj.id")
+    List<ProductSummaryDTO> findNextSummariesByName(String name, Long id, Pageable limit);
+
+    @Query("SELECT new com.devsuperior.dscatalog.dto.ProductSummaryDTO("
+            + "obj.id, obj.name, obj.price, obj.imgUrl, obj.date) FROM Product obj WHERE obj.id IN :ids")
+    List<ProductSummaryDTO> findSummariesByIdIn(List<Long> ids);
+
+    @Query("SELECT p.id AS productId, c.id AS categoryId FROM Product p JOIN p.categories c "
+            + "WHERE p.id IN :ids ORDER BY c.id")
+    List<ProductCategoryProjection> findCategoryIdsByProductIdIn(List<Long> ids);
+
+    @Query("SELECT p.id AS productId, c.id AS categoryId FROM Product p JOIN p.categories c")
+    List<ProductCategoryProjection> findAllCategoryIds();
+
+    @Query("SELECT obj.id FROM Product obj")
+    List<Long> findAllIds();
+
+    @Query("SELECT obj.version AS version, obj.updatedAt AS updatedAt FROM Product obj WHERE obj.id = :id")
+    Optional<VersionProjection> findVersionById(Long id);
+
+    @Query("SELECT p.id FROM Product p JOIN p.categories c WHERE c.id = :categoryId ORDER BY p.id")
+    List<Long> findIdsByCategory(Long categoryId);
+
+    @Modifying
+    @Query("UPDATE Product obj SET obj.version = obj.version + 1, obj.updatedAt = :now WHERE obj.id IN :ids")
+    int touchByIds(Collection<Long> ids, Instant now);
 }
@@ -1,10 +1,42 @@
 package com.devsuperior.dscatalog.repositories;
 
 import com.devsuperior.dscatalog.entities.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @EntityGraph(User.WITH_ROLES)
     User findByEmail(String email);
+
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findById(Long id);
+
+    @Query("SELECT obj.id FROM User obj WHERE obj.email = :email")
+    Optional<Long> findIdByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @Query("SELECT obj.tokenVersion FROM User obj WHERE obj.id = :id")
+    Optional<Long> findTokenVersion(Long id);
+
+    @Query("SELECT obj.email FROM User obj")
+    Stream<String> streamAllEmails();
+
+    @Modifying
+    @Query("UPDATE User obj SET obj.password = :newPassword WHERE obj.id = :id AND obj.password = :oldPassword")
+    int updatePassword(Long id, String oldPassword, String newPassword);
+
+    @Query("SELECT obj FROM User obj WHERE obj.id > :id ORDER BY obj.id")
+    List<User> findNextById(Long id, Pageable limit);
 }
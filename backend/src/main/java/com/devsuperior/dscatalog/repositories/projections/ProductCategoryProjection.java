@@ -0,0 +1,12 @@
+package com.devsuperior.dscatalog.repositories.projections;
+
+/**
+ * Projeção de uma linha da associação entre produtos e categorias, usada para preencher
+ * os IDs de categorias das listagens resumidas sem carregar as entidades.
+ */
+public interface ProductCategoryProjection {
+
+    Long getProductId();
+
+    Long getCategoryId();
+}
@@ -0,0 +1,14 @@
+package com.devsuperior.dscatalog.repositories.projections;
+
+import java.time.Instant;
+
+/**
+ * Projeção com os metadados de versão de uma entidade, usada para responder requisições
+ * condicionais sem carregar a entidade inteira.
+ */
+public interface VersionProjection {
+
+    Long getVersion();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,38 @@
+package com.devsuperior.dscatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscatalog.dto.AccessTokenDTO;
+import com.devsuperior.dscatalog.dto.LoginDTO;
+import com.devsuperior.dscatalog.services.AuthService;
+
+import jakarta.validation.Valid;
+
+/**
+ * Controlador REST de autenticação.
+ * Emite os tokens de acesso usados no cabeçalho {@code Authorization: Bearer} das demais requisições.
+ */
+@RestController
+@RequestMapping(value = "/auth")
+public class AuthResource {
+
+    @Autowired
+    private AuthService service;
+
+    /**
+     * Endpoint de login. Verifica o email e a senha e retorna um token de acesso.
+     *
+     * @param dto Credenciais do usuário.
+     * @return Resposta HTTP com o token de acesso, ou 401 se as credenciais forem inválidas.
+     */
+    @PostMapping(value = "/login")
+    public ResponseEntity<AccessTokenDTO> login(@Valid @RequestBody LoginDTO dto) {
+        AccessTokenDTO token = service.login(dto);
+        return ResponseEntity.ok().body(token);
+    }
+}
@@ -0,0 +1,88 @@
+package com.devsuperior.dscatalog.resources;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.devsuperior.dscatalog.dto.CatalogChangesDTO;
+import com.devsuperior.dscatalog.dto.CatalogSnapshotDTO;
+import com.devsuperior.dscatalog.services.CatalogChangeLogService;
+import com.devsuperior.dscatalog.services.CatalogSnapshotService;
+import com.devsuperior.dscatalog.services.CatalogStreamService;
+
+/**
+ * Controlador REST para recursos que abrangem o catálogo inteiro (produtos e categorias).
+ */
+@RestController
+@RequestMapping(value = "/catalog")
+public class CatalogResource {
+
+    @Autowired
+    private CatalogChangeLogService changeLogService;
+
+    @Autowired
+    private CatalogStreamService streamService;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    /**
+     * Endpoint do feed de alterações do catálogo, para sincronização incremental.
+     * O consumidor envia em {@code since} o token {@code next} da chamada anterior e recebe apenas
+     * as inserções, atualizações e remoções de produtos e categorias ocorridas depois dele.
+     *
+     * @param since Token da última chamada (opcional; vazio lê o log desde o início).
+     * @param limit Quantidade máxima de alterações (opcional, valor padrão 100, máximo 1000).
+     * @return Resposta HTTP com as alterações e o token da próxima chamada.
+     */
+    @GetMapping(value = "/changes")
+    public ResponseEntity<CatalogChangesDTO> changes(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", defaultValue = "100") Integer limit
+    ) {
+        CatalogChangesDTO changes = changeLogService.findChanges(since, limit);
+        return ResponseEntity.ok().body(changes);
+    }
+
+    /**
+     * Endpoint SSE que envia as alterações de produtos e categorias assim que são confirmadas.
+     * Cada evento traz um ID; ao reconectar, o cliente (ou o {@code EventSource} do navegador) envia o
+     * último ID em {@code Last-Event-ID} e recebe os eventos perdidos, se ainda estiverem em memória.
+     * Cada bloco da importação em lote chega como um único evento {@code products}, com a lista das inserções.
+     *
+     * @param lastEventId ID do último evento recebido (opcional).
+     * @param overflow    Política para quando o cliente não acompanha o ritmo dos eventos,
+     *                    "drop" ou "disconnect" (opcional, valor padrão "drop").
+     * @return Emissor SSE da conexão.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "overflow", defaultValue = "drop") String overflow
+    ) {
+        return streamService.subscribe(lastEventId, CatalogStreamService.policyOf(overflow));
+    }
+
+    /**
+     * Endpoint para exportar um snapshot binário do catálogo no diretório compartilhado de snapshots.
+     * As instâncias iniciadas depois disso mapeiam o arquivo em memória e respondem as leituras por ID a partir dele.
+     *
+     * @return Resposta HTTP 201 com os dados do snapshot, incluindo o token do feed de alterações já refletido nele.
+     * @throws IOException Se ocorrer um erro ao gravar o arquivo.
+     */
+    @PostMapping(value = "/snapshots")
+    public ResponseEntity<CatalogSnapshotDTO> exportSnapshot() throws IOException {
+        CatalogSnapshotDTO dto = snapshotService.export();
+        return ResponseEntity.status(HttpStatus.CREATED).body(dto);
+    }
+}
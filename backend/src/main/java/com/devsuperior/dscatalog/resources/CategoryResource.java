@@ -1,16 +1,26 @@
 package com.devsuperior.dscatalog.resources;
 
 import java.net.URI;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.MultiGetDTO;
+import com.devsuperior.dscatalog.repositories.projections.VersionProjection;
+import com.devsuperior.dscatalog.services.CatalogVersionTracker;
 import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.HotPageService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controlador REST para recursos de categorias.
@@ -23,6 +33,12 @@ public class CategoryResource {
     @Autowired
     private CategoryService service;
 
+    @Autowired
+    private HotPageService hotPageService;
+
+    @Autowired
+    private CatalogVersionTracker catalogVersion;
+
     /**
      * Endpoint para buscar todas as categorias paginadas.
      *
@@ -30,30 +46,89 @@ public class CategoryResource {
      * @param linesPerPage Número de linhas por página (opcional, valor padrão 12).
      * @param direction    Direção da ordenação (ASC ou DESC, valor padrão ASC).
      * @param orderBy      Campo pelo qual os resultados serão ordenados (opcional, valor padrão "name").
-     * @return Resposta HTTP com a página de categorias.
+     * @param request      Requisição HTTP, usada para a validação condicional.
+     * @return Resposta HTTP com a página de categorias, ou 304 (Não Modificado). As primeiras páginas
+     *         da ordenação padrão são respondidas com o JSON pré-calculado pelo {@link HotPageService}.
      */
     @GetMapping
-    public ResponseEntity<Page<CategoryDTO>> findAll(
+    public ResponseEntity<?> findAll(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
             @RequestParam(value = "direction", defaultValue = "ASC") String direction,
-            @RequestParam(value = "orderBy", defaultValue = "name") String orderBy
+            @RequestParam(value = "orderBy", defaultValue = "name") String orderBy,
+            HttpServletRequest request
     ) {
+        String version = catalogVersion.current();
+        String etag = ETags.forList(version, request);
+        if (ETags.isNotModified(request, etag, null)) {
+            return ETags.notModified(etag, null);
+        }
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+        byte[] hot = hotPageService.findCategoryPage(pageRequest, version);
+        if (hot != null) {
+            return ETags.ok(etag, null).contentType(MediaType.APPLICATION_JSON).body(hot);
+        }
         Page<CategoryDTO> list = service.findAllPaged(pageRequest);
-        return ResponseEntity.ok().body(list);
+        return ETags.ok(etag, null).body(list);
+    }
+
+    /**
+     * Endpoint para buscar várias categorias por uma lista de IDs (por exemplo, {@code ids=3,1,2}).
+     * As categorias voltam na ordem dos IDs; IDs inexistentes ficam com {@code null} e são listados em {@code missing}.
+     *
+     * @param ids IDs das categorias (no máximo 100).
+     * @return Resposta HTTP com as categorias encontradas.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetDTO<CategoryDTO>> findByIds(@RequestParam(value = "ids") List<Long> ids) {
+        MultiGetDTO<CategoryDTO> result = service.findByIds(ids);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * Endpoint para buscar categorias paginadas por cursor (keyset), sempre em ordem crescente.
+     * Ativado pela presença do parâmetro {@code after}: envie {@code after=} vazio para a primeira fatia
+     * e, nas seguintes, o valor de {@code next} retornado pela fatia anterior.
+     *
+     * @param after        Token da última fatia recebida.
+     * @param linesPerPage Número de categorias por fatia (opcional, valor padrão 12).
+     * @param orderBy      Campo de ordenação, "name" ou "id" (opcional, valor padrão "name").
+     * @param request      Requisição HTTP, usada para a validação condicional.
+     * @return Resposta HTTP com a fatia de categorias, ou 304 (Não Modificado).
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorSliceDTO<CategoryDTO>> findAllAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "name") String orderBy,
+            HttpServletRequest request
+    ) {
+        String etag = ETags.forList(catalogVersion.current(), request);
+        if (ETags.isNotModified(request, etag, null)) {
+            return ETags.notModified(etag, null);
+        }
+        CursorSliceDTO<CategoryDTO> slice = service.findAllAfter(after, linesPerPage, orderBy);
+        return ETags.ok(etag, null).body(slice);
     }
 
     /**
      * Endpoint para buscar uma categoria específica pelo ID.
+     * A validação condicional ({@code If-None-Match} / {@code If-Modified-Since}) consulta apenas
+     * a versão da categoria; a categoria só é carregada quando o cliente não tem a versão atual.
      *
-     * @param id ID da categoria.
-     * @return Resposta HTTP com os dados da categoria.
+     * @param id      ID da categoria.
+     * @param request Requisição HTTP, usada para a validação condicional.
+     * @return Resposta HTTP com os dados da categoria, ou 304 (Não Modificado).
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
+    public ResponseEntity<CategoryDTO> findById(@PathVariable Long id, HttpServletRequest request) {
+        VersionProjection version = service.findVersion(id);
+        String etag = ETags.of("c", id, version.getVersion());
+        if (ETags.isNotModified(request, etag, version.getUpdatedAt())) {
+            return ETags.notModified(etag, version.getUpdatedAt());
+        }
         CategoryDTO item = service.findById(id);
-        return ResponseEntity.ok().body(item);
+        return ETags.ok(ETags.of("c", id, item.getVersion()), version.getUpdatedAt()).body(item);
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.devsuperior.dscatalog.resources;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Utilitário para requisições condicionais (ETag / If-None-Match / Last-Modified / If-Modified-Since).
+ * Os ETags são fortes e derivados da versão das entidades, de modo que a validação pode ser feita
+ * com uma consulta de versão, sem mapear DTOs nem serializar JSON.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Monta o ETag de uma entidade a partir de seu ID e versão.
+     *
+     * @param prefix  Prefixo que identifica o tipo da entidade.
+     * @param id      ID da entidade.
+     * @param version Versão da entidade.
+     * @return ETag entre aspas.
+     */
+    public static String of(String prefix, Long id, Long version) {
+        return "\"" + prefix + id + "-" + version + "\"";
+    }
+
+    /**
+     * Monta o ETag de uma listagem a partir da versão atual do catálogo e da URL da requisição,
+     * para que páginas e filtros diferentes tenham ETags diferentes.
+     *
+     * @param catalogVersion Versão atual do catálogo.
+     * @param request        Requisição HTTP da listagem.
+     * @return ETag entre aspas.
+     */
+    public static String forList(String catalogVersion, HttpServletRequest request) {
+        int hash = Objects.hash(request.getRequestURI(), request.getQueryString());
+        return "\"l" + catalogVersion + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Verifica se o cliente já possui a representação atual do recurso.
+     * O {@code If-None-Match} tem precedência; o {@code If-Modified-Since} só é considerado na sua ausência.
+     *
+     * @param request      Requisição HTTP.
+     * @param etag         ETag atual do recurso.
+     * @param lastModified Data da última alteração do recurso (pode ser {@code null}).
+     * @return {@code true} se a resposta deve ser 304 (Não Modificado).
+     */
+    public static boolean isNotModified(HttpServletRequest request, String etag, Instant lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && lastModified.getEpochSecond() * 1000 <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cria a resposta 304 (Não Modificado) com os cabeçalhos de validação.
+     *
+     * @param etag         ETag atual do recurso.
+     * @param lastModified Data da última alteração do recurso (pode ser {@code null}).
+     * @param <T>          Tipo do corpo da resposta.
+     * @return Resposta HTTP sem corpo.
+     */
+    public static <T> ResponseEntity<T> notModified(String etag, Instant lastModified) {
+        return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified).build();
+    }
+
+    /**
+     * Cria uma resposta 200 (OK) com os cabeçalhos de validação, exigindo revalidação a cada uso.
+     *
+     * @param etag         ETag da representação enviada.
+     * @param lastModified Data da última alteração do recurso (pode ser {@code null}).
+     * @return Construtor da resposta HTTP, ao qual deve ser adicionado o corpo.
+     */
+    public static ResponseEntity.BodyBuilder ok(String etag, Instant lastModified) {
+        return headers(ResponseEntity.ok(), etag, lastModified);
+    }
+
+    private static ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder, String etag,
+                                                      Instant lastModified) {
+        builder.eTag(etag).cacheControl(CacheControl.noCache());
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
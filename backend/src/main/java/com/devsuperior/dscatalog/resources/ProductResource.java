@@ -1,16 +1,44 @@
 package com.devsuperior.dscatalog.resources;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.MultiGetDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterPageDTO;
+import com.devsuperior.dscatalog.dto.ProductSearchHitDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
+import com.devsuperior.dscatalog.dto.TopProductDTO;
+import com.devsuperior.dscatalog.repositories.projections.VersionProjection;
+import com.devsuperior.dscatalog.services.CatalogVersionTracker;
+import com.devsuperior.dscatalog.services.CategoryFilterService;
+import com.devsuperior.dscatalog.services.HotPageService;
+import com.devsuperior.dscatalog.services.PopularityService;
+import com.devsuperior.dscatalog.services.ProductBulkImportService;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductJsonCache;
+import com.devsuperior.dscatalog.services.ProductSearchService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.SuggestionService;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -24,28 +52,261 @@ public class ProductResource {
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private ProductBulkImportService bulkImportService;
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private CategoryFilterService categoryFilterService;
+
+    @Autowired
+    private PopularityService popularityService;
+
+    @Autowired
+    private HotPageService hotPageService;
+
+    @Autowired
+    private ProductJsonCache jsonCache;
+
+    @Autowired
+    private CatalogVersionTracker catalogVersion;
+
     /**
-     * Endpoint para buscar todos os produtos paginados.
+     * Endpoint para buscar todos os produtos paginados, em formato resumido (sem a descrição
+     * e com apenas os IDs das categorias). Use {@code expand=categories} para a representação completa.
+     * Responde 304 (Não Modificado) se o catálogo não mudou desde o ETag enviado em {@code If-None-Match}.
+     * As primeiras páginas da ordenação padrão são respondidas com o JSON pré-calculado pelo {@link HotPageService}.
+     * Os parâmetros {@code ids}, {@code categories}, {@code after} e {@code expand=categories} selecionam os
+     * demais endpoints e são mutuamente exclusivos; uma requisição que combina dois deles chega aqui e é rejeitada.
      *
      * @param pageable Configurações de paginação e ordenação.
+     * @param request  Requisição HTTP, usada para a validação condicional.
      * @return Resposta HTTP com a página de produtos.
+     * @throws BadRequestException Se a requisição combinar parâmetros de endpoints diferentes.
      */
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> findAll(Pageable pageable) {
-        Page<ProductDTO> list = service.findAllPaged(pageable);
+    public ResponseEntity<?> findAll(Pageable pageable, HttpServletRequest request) {
+        if (request.getParameter("ids") != null || request.getParameter("categories") != null
+                || request.getParameter("after") != null || "categories".equals(request.getParameter("expand"))) {
+            throw new BadRequestException("Use apenas um dos parâmetros ids, categories, after e expand=categories");
+        }
+        String version = catalogVersion.current();
+        String etag = ETags.forList(version, request);
+        if (ETags.isNotModified(request, etag, null)) {
+            return ETags.notModified(etag, null);
+        }
+        byte[] hot = hotPageService.findProductPage(pageable, version);
+        if (hot != null) {
+            return ETags.ok(etag, null).contentType(MediaType.APPLICATION_JSON).body(hot);
+        }
+        Page<ProductSummaryDTO> list = service.findAllPaged(pageable);
+        return ETags.ok(etag, null).body(list);
+    }
+
+    /**
+     * Endpoint para buscar produtos paginados já com suas categorias ({@code expand=categories}).
+     * Uma página custa duas consultas (IDs da página e produtos com categorias), além da contagem.
+     *
+     * @param pageable Configurações de paginação e ordenação.
+     * @param request  Requisição HTTP, usada para a validação condicional.
+     * @return Resposta HTTP com a página de produtos e suas categorias.
+     */
+    @GetMapping(params = {"expand=categories", "!ids", "!categories", "!after"})
+    public ResponseEntity<Page<ProductDTO>> findAllWithCategories(Pageable pageable, HttpServletRequest request) {
+        String etag = ETags.forList(catalogVersion.current(), request);
+        if (ETags.isNotModified(request, etag, null)) {
+            return ETags.notModified(etag, null);
+        }
+        Page<ProductDTO> list = service.findAllPagedWithCategories(pageable);
+        return ETags.ok(etag, null).body(list);
+    }
+
+    /**
+     * Endpoint para buscar vários produtos, com suas categorias, por uma lista de IDs
+     * (por exemplo, {@code ids=3,1,2}), em uma única requisição.
+     * Os produtos voltam na ordem dos IDs; IDs inexistentes ficam com {@code null} e são listados em {@code missing}.
+     *
+     * @param ids IDs dos produtos (no máximo 100).
+     * @return Resposta HTTP com os produtos encontrados.
+     */
+    @GetMapping(params = {"ids", "!categories", "!after", "expand!=categories"})
+    public ResponseEntity<MultiGetDTO<ProductDTO>> findByIds(@RequestParam(value = "ids") List<Long> ids) {
+        MultiGetDTO<ProductDTO> result = service.findByIds(ids);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * Endpoint para filtrar produtos por uma expressão de categorias, em ordem de ID.
+     * Na expressão, "," é "e", "|" é "ou", "-" é "não" e parênteses agrupam; por exemplo,
+     * {@code categories=1,2,-3} retorna os produtos nas categorias 1 e 2 que não estão na 3.
+     * A resposta traz também as facetas: a quantidade de produtos do resultado em cada categoria.
+     *
+     * @param categories Expressão de categorias.
+     * @param pageable   Página e tamanho (apenas ordenação crescente por id).
+     * @param request    Requisição HTTP, usada para a validação condicional.
+     * @return Resposta HTTP com a página de produtos e as facetas.
+     */
+    @GetMapping(params = {"categories", "!ids", "!after", "expand!=categories"})
+    public ResponseEntity<ProductFilterPageDTO> findAllByCategories(
+            @RequestParam(value = "categories") String categories,
+            Pageable pageable,
+            HttpServletRequest request
+    ) {
+        String etag = ETags.forList(catalogVersion.current(), request);
+        if (ETags.isNotModified(request, etag, null)) {
+            return ETags.notModified(etag, null);
+        }
+        ProductFilterPageDTO page = categoryFilterService.filter(categories, pageable);
+        return ETags.ok(etag, null).body(page);
+    }
+
+    /**
+     * Endpoint para buscar produtos resumidos paginados por cursor (keyset).
+     * Ativado pela presença do parâmetro {@code after}: envie {@code after=} vazio para a primeira fatia
+     * e, nas seguintes, o valor de {@code next} retornado pela fatia anterior.
+     *
+     * @param after   Token da última fatia recebida.
+     * @param size    Quantidade de produtos por fatia (opcional, valor padrão 20).
+     * @param orderBy Campo de ordenação, "id" ou "name" (opcional, valor padrão "id").
+     * @param request Requisição HTTP, usada para a validação condicional.
+     * @return Resposta HTTP com a fatia de produtos.
+     */
+    @GetMapping(params = {"after", "!ids", "!categories", "expand!=categories"})
+    public ResponseEntity<CursorSliceDTO<ProductSummaryDTO>> findAllAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "orderBy", defaultValue = "id") String orderBy,
+            HttpServletRequest request
+    ) {
+        String etag = ETags.forList(catalogVersion.current(), request);
+        if (ETags.isNotModified(request, etag, null)) {
+            return ETags.notModified(etag, null);
+        }
+        CursorSliceDTO<ProductSummaryDTO> slice = service.findAllAfter(after, size, orderBy);
+        return ETags.ok(etag, null).body(slice);
+    }
+
+    /**
+     * Endpoint de busca textual de produtos pelo nome e pela descrição.
+     * A consulta é respondida pelo índice em memória, sem acessar o banco de dados,
+     * e tolera pequenos erros de digitação.
+     *
+     * @param q     Texto da consulta.
+     * @param limit Quantidade máxima de resultados (opcional, valor padrão 20).
+     * @return Resposta HTTP com os produtos encontrados, ordenados por relevância.
+     */
+    @GetMapping(value = "/search")
+    public ResponseEntity<List<ProductSearchHitDTO>> search(
+            @RequestParam(value = "q") String q,
+            @RequestParam(value = "limit", defaultValue = "20") Integer limit
+    ) {
+        List<ProductSearchHitDTO> list = searchService.search(q, limit);
+        return ResponseEntity.ok().body(list);
+    }
+
+    /**
+     * Endpoint de autocompletar: sugere nomes de produtos e categorias que tenham alguma palavra
+     * iniciada pelo prefixo, ordenados por popularidade. Respondido pela árvore de prefixos em memória.
+     *
+     * @param prefix Texto digitado pelo usuário.
+     * @param limit  Quantidade máxima de sugestões (opcional, valor padrão 10).
+     * @return Resposta HTTP com as sugestões.
+     */
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam(value = "prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") Integer limit
+    ) {
+        List<SuggestionDTO> list = suggestionService.suggest(prefix, limit);
+        return ResponseEntity.ok().body(list);
+    }
+
+    /**
+     * Endpoint para os produtos mais populares, respondido pelas pontuações em memória
+     * e pelo cache de produtos.
+     *
+     * @param window   Janela de popularidade: "1h", "24h", "7d" (com decaimento) ou "all" (total de
+     *                 visualizações) (opcional, valor padrão "24h").
+     * @param category ID da categoria para restringir a classificação (opcional).
+     * @param limit    Quantidade máxima de produtos (opcional, valor padrão 10).
+     * @return Resposta HTTP com os produtos em ordem decrescente de popularidade.
+     */
+    @GetMapping(value = "/top")
+    public ResponseEntity<List<TopProductDTO>> top(
+            @RequestParam(value = "window", defaultValue = "24h") String window,
+            @RequestParam(value = "category", required = false) Long category,
+            @RequestParam(value = "limit", defaultValue = "10") Integer limit
+    ) {
+        List<TopProductDTO> list = popularityService.top(window, category, limit);
         return ResponseEntity.ok().body(list);
     }
 
+    /**
+     * Endpoint para exportar o catálogo completo de produtos, com suas categorias.
+     * O conteúdo é gerado em fluxo a partir de um cursor do banco, sem materializar o resultado.
+     *
+     * @param format Formato da exportação, "ndjson" ou "csv" (opcional, valor padrão "ndjson").
+     * @return Resposta HTTP cujo corpo é escrito à medida que os produtos são lidos.
+     */
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = ProductExportService.NDJSON) String format
+    ) {
+        exportService.checkFormat(format);
+        boolean csv = ProductExportService.CSV.equals(format);
+        StreamingResponseBody body = out -> exportService.export(format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products." + format)
+                .body(body);
+    }
+
     /**
      * Endpoint para buscar um produto específico pelo ID.
+     * A validação condicional ({@code If-None-Match} / {@code If-Modified-Since}) consulta apenas
+     * a versão do produto; o produto só é carregado quando o cliente não tem a versão atual.
+     * O corpo vem do {@link ProductJsonCache}, já serializado (e comprimido em gzip, se o cliente aceitar),
+     * e só passa pelo Jackson quando a versão atual ainda não está no cache. Se o cache de produtos
+     * devolver outra versão, ela é descartada e o produto é recarregado antes de ser serializado.
+     * Toda consulta a um produto existente conta como uma visualização para o {@link PopularityService}.
      *
-     * @param id ID do produto.
-     * @return Resposta HTTP com os dados do produto.
+     * @param id      ID do produto.
+     * @param request Requisição HTTP, usada para a validação condicional e a negociação do gzip.
+     * @return Resposta HTTP com o JSON do produto, ou 304 (Não Modificado).
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-        ProductDTO item = service.findById(id);
-        return ResponseEntity.ok().body(item);
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, HttpServletRequest request) {
+        VersionProjection version = service.findVersion(id);
+        String etag = ETags.of("p", id, version.getVersion());
+        popularityService.recordView(id);
+        if (ETags.isNotModified(request, etag, version.getUpdatedAt())) {
+            return ETags.notModified(etag, version.getUpdatedAt());
+        }
+        ProductJsonCache.Entry entry = jsonCache.get(id, version.getVersion());
+        if (entry == null) {
+            ProductDTO dto = service.findById(id);
+            if (!Objects.equals(dto.getVersion(), version.getVersion())) {
+                // o cache de produtos ainda tem uma versão anterior; não a serializa no lugar da atual
+                service.evictCached(id);
+                dto = service.findById(id);
+            }
+            entry = jsonCache.put(dto);
+        }
+        ResponseEntity.BodyBuilder builder = ETags.ok(ETags.of("p", id, entry.getVersion()), version.getUpdatedAt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (entry.getGzip() != null && acceptsGzip(request)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.getGzip());
+        }
+        return builder.body(entry.getJson());
     }
 
     /**
@@ -76,6 +337,22 @@ public class ProductResource {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    /**
+     * Endpoint para importar produtos em lote a partir de um corpo NDJSON (um produto por linha).
+     * O corpo é lido em fluxo e a resposta, também em NDJSON, traz o resultado de cada linha
+     * à medida que os blocos são gravados, terminando com o resumo da importação.
+     *
+     * @param request  Requisição HTTP cujo corpo contém os produtos.
+     * @param response Resposta HTTP que recebe o relatório da importação.
+     * @throws IOException Se ocorrer um erro de leitura ou escrita.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkInsert(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkImportService.importNdjson(request.getInputStream(), response.getOutputStream());
+    }
+
     /**
      * Endpoint para deletar um produto existente.
      *
@@ -87,4 +364,9 @@ public class ProductResource {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accept != null && accept.toLowerCase().contains("gzip");
+    }
 }
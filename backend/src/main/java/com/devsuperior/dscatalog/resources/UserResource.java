@@ -1,5 +1,6 @@
 package com.devsuperior.dscatalog.resources;
 
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
 import com.devsuperior.dscatalog.dto.UserDTO;
 import com.devsuperior.dscatalog.dto.UserInsertDTO;
 import com.devsuperior.dscatalog.dto.UserUpdateDTO;
@@ -11,6 +12,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -40,6 +44,24 @@ public class UserResource {
         return ResponseEntity.ok().body(list);
     }
 
+    /**
+     * Endpoint para buscar usuários paginados por cursor (keyset), ordenados pelo ID.
+     * Ativado pela presença do parâmetro {@code after}: envie {@code after=} vazio para a primeira fatia
+     * e, nas seguintes, o valor de {@code next} retornado pela fatia anterior.
+     *
+     * @param after Token da última fatia recebida.
+     * @param size  Quantidade de usuários por fatia (opcional, valor padrão 20).
+     * @return Resposta HTTP com a fatia de usuários.
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorSliceDTO<UserDTO>> findAllAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "20") Integer size
+    ) {
+        CursorSliceDTO<UserDTO> slice = service.findAllAfter(after, size);
+        return ResponseEntity.ok().body(slice);
+    }
+
     /**
      * Endpoint para buscar um usuário específico pelo ID.
      *
@@ -66,13 +88,18 @@ public class UserResource {
     }
 
     /**
-     * Endpoint para inserir um novo usuário.
+     * Endpoint para inserir um novo usuário. O cadastro é público, mas só um ADMIN pode
+     * atribuir papéis ao novo usuário.
      *
      * @param dto Objeto DTO com os dados do novo usuário.
      * @return Resposta HTTP com o usuário criado e a URI do novo recurso.
+     * @throws AccessDeniedException Se papéis forem informados por quem não é ADMIN.
      */
     @PostMapping
     public ResponseEntity<UserDTO> insert(@Valid @RequestBody UserInsertDTO dto) {
+        if (!dto.getRoles().isEmpty() && !isAdmin()) {
+            throw new AccessDeniedException("Apenas um ADMIN pode atribuir papéis");
+        }
         UserDTO newDto = service.insert(dto);
         URI uri = ServletUriComponentsBuilder
                 .fromCurrentRequest().path("/{id}")
@@ -91,4 +118,10 @@ public class UserResource {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+}
@@ -2,6 +2,8 @@ package com.devsuperior.dscatalog.resources.exceptions;
 
 import java.time.Instant;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,8 +11,12 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidFieldException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dscatalog.services.exceptions.UnauthorizedException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -61,6 +67,67 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    /**
+     * Manipulador para exceções de parâmetros inválidos.
+     *
+     * @param e A exceção de parâmetro inválido.
+     * @param request A solicitação HTTP que causou a exceção.
+     * @return Resposta HTTP com detalhes do erro e status 400 (Solicitação Inválida).
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<StandardError> badRequest(BadRequestException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Requisição inválida");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+
+        return ResponseEntity.status(status).body(err);
+    }
+
+    /**
+     * Manipulador para credenciais inválidas no login.
+     *
+     * @param e A exceção de autenticação.
+     * @param request A solicitação HTTP que causou a exceção.
+     * @return Resposta HTTP com detalhes do erro e status 401 (Não Autorizado).
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<StandardError> unauthorized(UnauthorizedException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.UNAUTHORIZED;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Não autorizado");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+
+        return ResponseEntity.status(status).body(err);
+    }
+
+    /**
+     * Manipulador para conflitos de versão (bloqueio otimista), quando o recurso
+     * foi alterado por outra requisição durante a atualização.
+     *
+     * @param e A exceção de conflito de versão.
+     * @param request A solicitação HTTP que causou a exceção.
+     * @return Resposta HTTP com detalhes do erro e status 409 (Conflito).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<StandardError> conflict(OptimisticLockingFailureException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Conflito de versão");
+        err.setMessage("O recurso foi alterado por outra requisição. Recarregue e tente novamente.");
+        err.setPath(request.getRequestURI());
+
+        return ResponseEntity.status(status).body(err);
+    }
+
     /**
      * Manipulador para exceções de validação de argumentos de método.
      *
@@ -87,4 +154,46 @@ public class ResourceExceptionHandler {
 
         return ResponseEntity.status(status).body(err);
     }
+
+    /**
+     * Manipulador para campos que referenciam dados inexistentes, detectados pela camada de serviço.
+     *
+     * @param e A exceção de campo inválido.
+     * @param request A solicitação HTTP que causou a exceção.
+     * @return Resposta HTTP com o campo inválido e status 422 (Entidade Não Processável).
+     */
+    @ExceptionHandler(InvalidFieldException.class)
+    public ResponseEntity<ValidationError> invalidField(InvalidFieldException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        ValidationError err = new ValidationError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Exceção de validação");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        err.addError(e.getFieldName(), e.getMessage());
+
+        return ResponseEntity.status(status).body(err);
+    }
+
+    /**
+     * Manipulador para sobrecarga temporária, como a fila de hash de senhas cheia.
+     * O cabeçalho {@code Retry-After} indica ao cliente quando tentar novamente.
+     *
+     * @param e A exceção de serviço indisponível.
+     * @param request A solicitação HTTP que causou a exceção.
+     * @return Resposta HTTP com detalhes do erro e status 503 (Serviço Indisponível).
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<StandardError> serviceUnavailable(ServiceUnavailableException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Serviço indisponível");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(err);
+    }
 }
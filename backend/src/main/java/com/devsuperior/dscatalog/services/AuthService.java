@@ -0,0 +1,160 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.dto.AccessTokenDTO;
+import com.devsuperior.dscatalog.dto.LoginDTO;
+import com.devsuperior.dscatalog.entities.Role;
+import com.devsuperior.dscatalog.entities.User;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.UnauthorizedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Serviço de autenticação por token de acesso assinado (JWT HMAC) e sem estado.
+ *
+ * <p>O login verifica a senha uma única vez e emite um token com o ID do usuário e os valores de
+ * {@link Role#getAuthority()}. Nas requisições seguintes o token é validado apenas pela assinatura,
+ * sem acesso ao banco nem BCrypt. As listas de autoridades convertidas ficam em um cache pequeno,
+ * compartilhado entre os tokens com os mesmos papéis.</p>
+ *
+ * <p>Cada token carrega a geração de tokens do usuário ({@link User#getTokenVersion()}), gravada no banco e
+ * incrementada a cada alteração do usuário. Um token de geração anterior à atual, ou de um usuário excluído,
+ * é rejeitado, e o usuário precisa fazer login novamente para receber os papéis atualizados. A geração atual
+ * de cada usuário fica em cache por {@code dscatalog.security.token-version-refresh-ms}: nesta instância a
+ * revogação vale logo após o commit, e nas demais réplicas em no máximo esse intervalo.</p>
+ */
+@Service
+public class AuthService {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    public static final String TOKEN_VERSION_CLAIM = "tv";
+
+    // geração usada para usuários excluídos, que revoga qualquer token
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private Cache<Long, Long> tokenVersions;
+    private Cache<List<String>, List<GrantedAuthority>> authorities;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Value("${dscatalog.security.token-ttl-seconds:900}")
+    private long tokenTtlSeconds;
+
+    @Value("${dscatalog.security.token-version-refresh-ms:5000}")
+    private long tokenVersionRefreshMillis;
+
+    @PostConstruct
+    void start() {
+        tokenVersions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tokenVersionRefreshMillis))
+                .maximumSize(100_000)
+                .build();
+        authorities = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .build();
+    }
+
+    /**
+     * Verifica as credenciais e emite um token de acesso.
+     *
+     * @param dto Email e senha do usuário.
+     * @return O token de acesso.
+     * @throws UnauthorizedException Se o email não existir ou a senha estiver incorreta.
+     */
+    public AccessTokenDTO login(LoginDTO dto) {
+        User user = userService.authenticate(dto.getEmail(), dto.getPassword())
+                .orElseThrow(() -> new UnauthorizedException("Email ou senha inválidos"));
+
+        List<String> roles = new ArrayList<>();
+        for (Role role : user.getRoles()) {
+            roles.add(role.getAuthority());
+        }
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(user.getEmail())
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(tokenTtlSeconds))
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(AUTHORITIES_CLAIM, roles)
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new AccessTokenDTO(token, "Bearer", tokenTtlSeconds);
+    }
+
+    /**
+     * Descarta a geração em cache do usuário após o commit de uma alteração ou exclusão,
+     * para que os tokens anteriores sejam rejeitados já na próxima requisição.
+     *
+     * @param event Evento de alteração do usuário.
+     */
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        tokenVersions.invalidate(event.getId());
+    }
+
+    /**
+     * Indica se o token é de uma geração anterior à atual do seu usuário, ou de um usuário excluído.
+     *
+     * @param jwt Token já validado pela assinatura.
+     * @return {@code true} se o token estiver revogado.
+     */
+    public boolean isRevoked(Jwt jwt) {
+        Number userId = jwt.getClaim(USER_ID_CLAIM);
+        Number tokenVersion = jwt.getClaim(TOKEN_VERSION_CLAIM);
+        if (userId == null || tokenVersion == null) {
+            return true;
+        }
+        long current = tokenVersions.get(userId.longValue(),
+                id -> userService.findTokenVersion(id).orElse(DELETED));
+        return tokenVersion.longValue() < current;
+    }
+
+    /**
+     * Converte as autoridades carregadas no token, reaproveitando a lista já convertida
+     * para o mesmo conjunto de papéis.
+     *
+     * @param jwt Token já validado.
+     * @return As autoridades do usuário.
+     */
+    public Collection<GrantedAuthority> authoritiesOf(Jwt jwt) {
+        List<String> roles = jwt.getClaimAsStringList(AUTHORITIES_CLAIM);
+        if (roles == null) {
+            return List.of();
+        }
+        return authorities.get(roles, key -> {
+            List<GrantedAuthority> list = new ArrayList<>(key.size());
+            for (String role : key) {
+                list.add(new SimpleGrantedAuthority(role));
+            }
+            return List.copyOf(list);
+        });
+    }
+}
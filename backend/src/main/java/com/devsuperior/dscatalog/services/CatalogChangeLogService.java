@@ -0,0 +1,213 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.devsuperior.dscatalog.dto.CatalogChangeDTO;
+import com.devsuperior.dscatalog.dto.CatalogChangesDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.CatalogChange;
+import com.devsuperior.dscatalog.entities.CatalogPosition;
+import com.devsuperior.dscatalog.repositories.CatalogChangeRepository;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Serviço responsável pelo log de alterações do catálogo, usado para sincronização incremental.
+ *
+ * <p>Os registros são gravados pelos ouvintes síncronos dos eventos de produto e categoria, portanto
+ * dentro da mesma transação da alteração: se a alteração sofrer rollback, o registro também sofre.</p>
+ *
+ * <p>A posição de cada registro no feed é atribuída imediatamente antes do commit, reservando um intervalo
+ * na linha única de {@link CatalogPosition}. O bloqueio dessa linha é mantido até o commit, então uma
+ * transação só reserva posições depois que a anterior confirmou as suas: as posições crescem na ordem de
+ * commit, inclusive entre instâncias, e um consumidor que leu até a posição N nunca verá depois um registro
+ * com posição menor que N. Não há janela de espera nem registros pulados. O custo é serializar apenas o
+ * trecho final (reserva e commit) das transações que alteram o catálogo.</p>
+ */
+@Service
+public class CatalogChangeLogService {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String RESERVE_SQL =
+            "UPDATE tb_catalog_position SET last_position = last_position + ? WHERE id = " + CatalogPosition.ID;
+    private static final String LAST_POSITION_SQL =
+            "SELECT last_position FROM tb_catalog_position WHERE id = " + CatalogPosition.ID;
+    private static final String INSERT_POSITION_SQL =
+            "INSERT INTO tb_catalog_position (id, last_position) VALUES (" + CatalogPosition.ID + ", ?)";
+    private static final String ASSIGN_SQL = "UPDATE tb_catalog_change SET position = ? WHERE id = ?";
+
+    @Autowired
+    private CatalogChangeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Registra a alteração de um produto na transação corrente.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProductChanged(ProductChangedEvent event) {
+        record(CatalogChange.PRODUCT, event.getId(), event.getType());
+    }
+
+    /**
+     * Registra a inserção de cada produto de um bloco da importação em lote na transação corrente.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProductsImported(ProductsImportedEvent event) {
+        for (ProductDTO product : event.getProducts()) {
+            record(CatalogChange.PRODUCT, product.getId(), ChangeType.INSERT);
+        }
+    }
+
+    /**
+     * Registra a alteração de uma categoria na transação corrente, seguida de uma atualização para cada
+     * produto da categoria cuja versão foi incrementada, para que o feed acompanhe as versões dos produtos.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        record(CatalogChange.CATEGORY, event.getId(), event.getType());
+        for (Long productId : event.getProductIds()) {
+            record(CatalogChange.PRODUCT, productId, ChangeType.UPDATE);
+        }
+    }
+
+    /**
+     * Retorna as alterações posteriores ao token informado, em ordem de posição.
+     *
+     * @param since Token retornado pela chamada anterior (vazio para ler o log desde o início).
+     * @param limit Quantidade máxima de alterações.
+     * @return Fatia do feed com o token da próxima chamada.
+     * @throws BadRequestException Se o token ou o limite forem inválidos.
+     */
+    @Transactional(readOnly = true)
+    public CatalogChangesDTO findChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("O limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        long position = decode(since);
+        List<CatalogChange> rows = repository.findNext(position, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<CatalogChangeDTO> changes = new ArrayList<>();
+        for (CatalogChange row : hasMore ? rows.subList(0, limit) : rows) {
+            changes.add(new CatalogChangeDTO(row));
+        }
+        if (!changes.isEmpty()) {
+            position = changes.get(changes.size() - 1).getPosition();
+        }
+        return new CatalogChangesDTO(changes, String.valueOf(position), hasMore);
+    }
+
+    /**
+     * Retorna o token da posição atual do feed, isto é, o {@code next} que um consumidor que já tivesse
+     * lido todas as alterações confirmadas receberia. Usado para marcar a posição de um snapshot do catálogo.
+     *
+     * @return Token da última alteração confirmada.
+     */
+    @Transactional(readOnly = true)
+    public String currentToken() {
+        return String.valueOf(repository.findLastPosition());
+    }
+
+    private void record(String entityType, Long entityId, ChangeType operation) {
+        CatalogChange change = repository.save(new CatalogChange(entityType, entityId, operation.name(), Instant.now()));
+        pendingPositions().ids.add(change.getId());
+    }
+
+    /**
+     * Retorna os registros da transação corrente que ainda aguardam posição, registrando na primeira
+     * chamada a sincronização que as atribui antes do commit. A lista fica na própria sincronização
+     * para acompanhar a suspensão de transações internas ({@code REQUIRES_NEW}).
+     */
+    private PositionAssigner pendingPositions() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof PositionAssigner assigner) {
+                return assigner;
+            }
+        }
+        PositionAssigner assigner = new PositionAssigner();
+        TransactionSynchronizationManager.registerSynchronization(assigner);
+        return assigner;
+    }
+
+    /**
+     * Reserva um intervalo de posições e o atribui aos registros da transação, na ordem em que foram gravados.
+     * O UPDATE da linha de {@link CatalogPosition} bloqueia as demais transações até o commit desta.
+     */
+    private void assignPositions(List<Long> ids) {
+        entityManager.flush();
+        int count = ids.size();
+        long last;
+        if (jdbcTemplate.update(RESERVE_SQL, count) == 0) {
+            // banco sem a linha inicial (criada pelo data.sql nos bancos embarcados)
+            jdbcTemplate.update(INSERT_POSITION_SQL, count);
+            last = count;
+        } else {
+            last = jdbcTemplate.queryForObject(LAST_POSITION_SQL, Long.class);
+        }
+        long first = last - count + 1;
+        List<Object[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            args.add(new Object[] { first + i, ids.get(i) });
+        }
+        jdbcTemplate.batchUpdate(ASSIGN_SQL, args);
+    }
+
+    private static long decode(String since) {
+        if (since == null || since.isBlank()) {
+            return 0L;
+        }
+        try {
+            long position = Long.parseLong(since);
+            if (position < 0) {
+                throw new BadRequestException("Token de alterações inválido: " + since);
+            }
+            return position;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Token de alterações inválido: " + since);
+        }
+    }
+
+    private class PositionAssigner implements TransactionSynchronization {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!ids.isEmpty()) {
+                assignPositions(ids);
+            }
+        }
+    }
+}
@@ -0,0 +1,606 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.CatalogChangeDTO;
+import com.devsuperior.dscatalog.dto.CatalogChangesDTO;
+import com.devsuperior.dscatalog.dto.CatalogSnapshotDTO;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.CatalogChange;
+import com.devsuperior.dscatalog.repositories.projections.VersionProjection;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.devsuperior.dscatalog.services.snapshot.CatalogSnapshot;
+import com.devsuperior.dscatalog.services.snapshot.CatalogSnapshotWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serviço responsável pelos snapshots binários do catálogo ({@link CatalogSnapshot}).
+ *
+ * <p>A exportação grava produtos, categorias e suas associações em um arquivo de
+ * {@code dscatalog.snapshot.dir}, junto com a posição do log de alterações no momento da leitura.
+ * Na inicialização (com {@code dscatalog.snapshot.load-on-startup}), o snapshot mais recente do diretório
+ * é mapeado em memória, sem carregar o catálogo no heap, e passa a responder as leituras por ID do
+ * {@link ProductService} e do {@link CategoryService}.</p>
+ *
+ * <p>Como o log de alterações registra apenas o que mudou, a atualização é feita por invalidação: uma thread
+ * lê o feed a partir da posição do snapshot a cada {@code dscatalog.snapshot.poll-ms} e marca os produtos e
+ * categorias alterados, que passam a ser lidos do banco. As alterações feitas nesta instância são marcadas
+ * imediatamente, ainda dentro da transação. Como as posições do feed seguem a ordem de commit, um snapshot
+ * passa a responder as leituras assim que o feed é lido até o fim pela primeira vez. Se o feed não for lido
+ * com sucesso por mais de {@code dscatalog.snapshot.max-lag-ms}, as leituras voltam ao banco até a próxima
+ * leitura bem-sucedida, para que alterações de outras instâncias não fiquem invisíveis indefinidamente.
+ * Os IDs marcados ficam limitados a {@code dscatalog.snapshot.max-dirty} por tipo; acima disso o snapshot
+ * é considerado desatualizado e todas as leituras voltam ao banco até a próxima exportação.</p>
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private static final String PREFIX = "catalog-";
+    private static final String SUFFIX = ".snap";
+
+    private static final String CATEGORY_SQL = "SELECT id, name, version, "
+            + "COALESCE(updated_at, created_at) AS updated_at FROM tb_category ORDER BY id";
+
+    private static final String PRODUCT_SQL = "SELECT p.id, p.name, p.description, p.price, p.img_url, p.date, "
+            + "p.version, p.updated_at, pc.category_id "
+            + "FROM tb_product p "
+            + "LEFT JOIN tb_product_category pc ON pc.product_id = p.id "
+            + "ORDER BY p.id, pc.category_id";
+
+    // snapshot que responde as leituras e snapshot recém-aberto que ainda está lendo o feed
+    private volatile State current;
+    private volatile State next;
+
+    private ScheduledExecutorService poller;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogChangeLogService changeLogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dscatalog.snapshot.dir:snapshots}")
+    private String dir;
+
+    @Value("${dscatalog.snapshot.load-on-startup:false}")
+    private boolean loadOnStartup;
+
+    @Value("${dscatalog.snapshot.poll-ms:1000}")
+    private long pollMillis;
+
+    @Value("${dscatalog.snapshot.keep:2}")
+    private int keep;
+
+    @Value("${dscatalog.snapshot.max-lag-ms:10000}")
+    private long maxLagMillis;
+
+    @Value("${dscatalog.snapshot.max-dirty:100000}")
+    private int maxDirty;
+
+    @Value("${dscatalog.export.fetch-size:500}")
+    private int fetchSize;
+
+    @PostConstruct
+    void start() {
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-snapshot-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        hitCounter = meterRegistry.counter("dscatalog.snapshot.reads", "result", "hit");
+        missCounter = meterRegistry.counter("dscatalog.snapshot.reads", "result", "miss");
+        Gauge.builder("dscatalog.snapshot.stale", this, s -> {
+            State state = s.current;
+            return state == null ? 0 : state.dirtyProducts.size() + state.dirtyCategories.size();
+        }).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Exporta o catálogo para um novo arquivo de snapshot e passa a usá-lo nesta instância.
+     *
+     * <p>A posição do log é lida antes dos dados: alterações confirmadas entre as duas leituras podem já estar
+     * no arquivo e também no feed posterior à posição, o que apenas faz com que sejam lidas do banco.
+     * O arquivo é gravado com um nome temporário e movido atomicamente, para que outras instâncias
+     * nunca abram um snapshot incompleto.</p>
+     *
+     * <p>Só a leitura das linhas, que vão direto para o arquivo, acontece dentro da transação
+     * somente-leitura, que permite o uso de cursor no servidor; a criação, o fechamento, a movimentação
+     * e a limpeza dos arquivos acontecem fora dela, sem manter uma conexão presa ao disco.</p>
+     *
+     * @return Os dados do snapshot gravado.
+     * @throws IOException Se ocorrer um erro de escrita no diretório de snapshots.
+     */
+    public CatalogSnapshotDTO export() throws IOException {
+        Path directory = Paths.get(dir);
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, PREFIX, ".tmp");
+        String since;
+        int categoryCount;
+        int products;
+        Path target;
+        Instant createdAt;
+        try {
+            ExportedRows rows;
+            try {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setReadOnly(true);
+                rows = transaction.execute(status -> streamRows(tmp));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            since = rows.since;
+            categoryCount = rows.categoryCount;
+            try (CatalogSnapshotWriter writer = rows.writer) {
+                products = writer.finish();
+            }
+            createdAt = Instant.now();
+            target = directory.resolve(PREFIX + String.format("%020d", Long.parseLong(since)) + "-"
+                    + createdAt.toEpochMilli() + SUFFIX);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        logger.info("Snapshot do catálogo exportado: {} ({} produtos, {} categorias)", target, products, categoryCount);
+
+        load(target);
+        deleteOldSnapshots(directory);
+        return new CatalogSnapshotDTO(target.getFileName().toString(), since, products, categoryCount,
+                Files.size(target), createdAt);
+    }
+
+    /**
+     * Lê a posição do log, as categorias e os produtos, gravando-os no arquivo à medida que chegam.
+     * Executado dentro da transação da exportação; em caso de falha, o arquivo é fechado.
+     */
+    private ExportedRows streamRows(Path tmp) {
+        String since = changeLogService.currentToken();
+        List<CategoryDTO> categories = new ArrayList<>();
+        List<Instant> categoryUpdates = new ArrayList<>();
+        jdbcTemplate.query(CATEGORY_SQL, (RowCallbackHandler) rs -> {
+            CategoryDTO dto = new CategoryDTO(rs.getLong("id"), rs.getString("name"));
+            dto.setVersion(ProductRowGrouper.longOf(rs, "version"));
+            categories.add(dto);
+            categoryUpdates.add(ProductRowGrouper.instantOf(rs, "updated_at"));
+        });
+
+        CatalogSnapshotWriter writer = null;
+        try {
+            writer = new CatalogSnapshotWriter(tmp, Long.parseLong(since), categories.size());
+            for (int i = 0; i < categories.size(); i++) {
+                writer.writeCategory(categories.get(i), categoryUpdates.get(i));
+            }
+            ProductRowCallbackHandler handler = new ProductRowCallbackHandler(writer);
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(PRODUCT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, handler);
+            handler.finish();
+            return new ExportedRows(since, categories.size(), writer);
+        } catch (IOException e) {
+            closeQuietly(writer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(writer);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(CatalogSnapshotWriter writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Falha ao fechar o snapshot do catálogo", e);
+            }
+        }
+    }
+
+    /**
+     * Abre o snapshot mais recente do diretório quando a aplicação termina de inicializar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!loadOnStartup) {
+            return;
+        }
+        try {
+            Path latest = latestSnapshot(Paths.get(dir));
+            if (latest == null) {
+                logger.info("Nenhum snapshot do catálogo em {}; as leituras serão feitas no banco", dir);
+                return;
+            }
+            load(latest);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha ao abrir o snapshot do catálogo; as leituras serão feitas no banco", e);
+        }
+    }
+
+    /**
+     * Retorna o produto a partir do snapshot.
+     *
+     * @param id ID do produto.
+     * @return O produto, ou {@code null} se não houver snapshot atualizado ou se o produto ou alguma de suas
+     *         categorias tiver sido alterado desde o snapshot (nesse caso o produto deve ser lido do banco).
+     */
+    public ProductDTO findProduct(Long id) {
+        State state = current;
+        if (!isFresh(state) || state.dirtyProducts.contains(id)) {
+            return miss();
+        }
+        ProductDTO dto = state.snapshot.findProduct(id);
+        if (dto == null) {
+            return miss();
+        }
+        for (CategoryDTO category : dto.getCategories()) {
+            if (state.dirtyCategories.contains(category.getId())) {
+                return miss();
+            }
+        }
+        hitCounter.increment();
+        return dto;
+    }
+
+    /**
+     * Retorna a versão do produto a partir do snapshot.
+     *
+     * @param id ID do produto.
+     * @return A versão do produto, ou {@code null} se ela deve ser lida do banco (inclusive quando alguma
+     *         categoria do produto foi alterada, o que incrementa a versão do produto).
+     */
+    public VersionProjection findProductVersion(Long id) {
+        State state = current;
+        if (!isFresh(state) || state.dirtyProducts.contains(id)) {
+            return miss();
+        }
+        long[] categoryIds = state.snapshot.findProductCategoryIds(id);
+        if (categoryIds == null) {
+            return miss();
+        }
+        for (long categoryId : categoryIds) {
+            if (state.dirtyCategories.contains(categoryId)) {
+                return miss();
+            }
+        }
+        return version(state.snapshot.findProductVersion(id));
+    }
+
+    /**
+     * Retorna a categoria a partir do snapshot.
+     *
+     * @param id ID da categoria.
+     * @return A categoria, ou {@code null} se ela deve ser lida do banco.
+     */
+    public CategoryDTO findCategory(Long id) {
+        State state = current;
+        if (!isFresh(state) || state.dirtyCategories.contains(id)) {
+            return miss();
+        }
+        CategoryDTO dto = state.snapshot.findCategory(id);
+        if (dto == null) {
+            return miss();
+        }
+        hitCounter.increment();
+        return dto;
+    }
+
+    /**
+     * Retorna a versão da categoria a partir do snapshot.
+     *
+     * @param id ID da categoria.
+     * @return A versão da categoria, ou {@code null} se ela deve ser lida do banco.
+     */
+    public VersionProjection findCategoryVersion(Long id) {
+        State state = current;
+        if (!isFresh(state) || state.dirtyCategories.contains(id)) {
+            return miss();
+        }
+        return version(state.snapshot.findCategoryVersion(id));
+    }
+
+    /**
+     * Marca o produto como alterado assim que a alteração é feita, antes do commit, para que nenhuma
+     * leitura posterior ao commit use o snapshot. Se a transação sofrer rollback, o produto apenas
+     * continua sendo lido do banco.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        markProduct(current, event.getId());
+        markProduct(next, event.getId());
+    }
+
+    /**
+     * Marca os produtos de um bloco da importação em lote como alterados, antes do commit.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        for (ProductDTO p : event.getProducts()) {
+            markProduct(current, p.getId());
+            markProduct(next, p.getId());
+        }
+    }
+
+    /**
+     * Marca a categoria como alterada assim que a alteração é feita, antes do commit.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        markCategory(current, event.getId());
+        markCategory(next, event.getId());
+    }
+
+    /**
+     * Abre o snapshot e o coloca em atualização; ele passa a responder as leituras assim que
+     * a thread de atualização alcançar o feed.
+     */
+    private synchronized void load(Path file) throws IOException {
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+        next = new State(snapshot);
+        logger.info("Snapshot do catálogo aberto: {} ({} produtos, {} categorias)", file,
+                snapshot.getProductCount(), snapshot.getCategoryCount());
+    }
+
+    /**
+     * Lê o feed de alterações para o snapshot em uso e para o recém-aberto, promovendo
+     * este último quando estiver atualizado.
+     */
+    synchronized void poll() {
+        try {
+            State s = current;
+            if (s != null) {
+                catchUp(s);
+            }
+            State n = next;
+            if (n != null) {
+                catchUp(n);
+                current = n;
+                next = null;
+                logger.info("Snapshot do catálogo em uso: {}", n.snapshot.getFile());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao ler o feed de alterações para o snapshot do catálogo; nova tentativa na próxima rodada", e);
+        }
+    }
+
+    /**
+     * Lê todas as alterações disponíveis a partir do token do snapshot. Como as posições são atribuídas
+     * na ordem de commit, toda alteração confirmada antes do início da leitura tem posição menor ou igual
+     * à última lida, e nenhuma fica para trás.
+     */
+    private void catchUp(State state) {
+        long startedAt = System.currentTimeMillis();
+        CatalogChangesDTO page;
+        do {
+            page = changeLogService.findChanges(state.since, CatalogChangeLogService.MAX_LIMIT);
+            for (CatalogChangeDTO change : page.getChanges()) {
+                if (CatalogChange.CATEGORY.equals(change.getEntityType())) {
+                    markCategory(state, change.getEntityId());
+                } else {
+                    markProduct(state, change.getEntityId());
+                }
+            }
+            state.since = page.getNext();
+        } while (page.getHasMore());
+        state.caughtUpAt = startedAt;
+    }
+
+    private boolean isFresh(State state) {
+        return state != null && !state.overflowed && System.currentTimeMillis() - state.caughtUpAt <= maxLagMillis;
+    }
+
+    private void markProduct(State state, Long id) {
+        if (state != null) {
+            mark(state, state.dirtyProducts, id);
+        }
+    }
+
+    private void markCategory(State state, Long id) {
+        if (state != null) {
+            mark(state, state.dirtyCategories, id);
+        }
+    }
+
+    /**
+     * Marca o ID como alterado. Quando o conjunto atinge {@code dscatalog.snapshot.max-dirty}, o snapshot
+     * deixa de responder as leituras, que passam a ir ao banco, e o conjunto para de crescer.
+     */
+    private void mark(State state, Set<Long> dirty, Long id) {
+        if (state.overflowed) {
+            return;
+        }
+        if (dirty.size() >= maxDirty && !dirty.contains(id)) {
+            state.overflowed = true;
+            logger.warn("Mais de {} alterações desde o snapshot {}; as leituras voltam ao banco até a próxima exportação",
+                    maxDirty, state.snapshot.getFile());
+            return;
+        }
+        dirty.add(id);
+    }
+
+    private <T> T miss() {
+        missCounter.increment();
+        return null;
+    }
+
+    private VersionProjection version(long[] values) {
+        if (values == null) {
+            return miss();
+        }
+        hitCounter.increment();
+        Long version = values[0] == CatalogSnapshotWriter.NULL ? null : values[0];
+        Instant updatedAt = values[1] == CatalogSnapshotWriter.NULL ? null : Instant.ofEpochMilli(values[1]);
+        return new VersionProjection() {
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public Instant getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    private static Path latestSnapshot(Path directory) throws IOException {
+        List<Path> files = snapshotFiles(directory);
+        return files.isEmpty() ? null : files.get(files.size() - 1);
+    }
+
+    /**
+     * Retorna os arquivos de snapshot do diretório, do mais antigo para o mais recente
+     * (o nome começa pela posição do log, com zeros à esquerda).
+     */
+    private static List<Path> snapshotFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted(Comparator.comparing(p -> p.getFileName().toString())).toList();
+        }
+    }
+
+    /**
+     * Mantém apenas os {@code dscatalog.snapshot.keep} snapshots mais recentes. Arquivos ainda mapeados
+     * por alguma instância continuam legíveis por ela depois de removidos, nos sistemas que permitem isso.
+     */
+    private void deleteOldSnapshots(Path directory) {
+        try {
+            List<Path> files = snapshotFiles(directory);
+            for (int i = 0; i < files.size() - Math.max(keep, 1); i++) {
+                Files.deleteIfExists(files.get(i));
+            }
+        } catch (IOException e) {
+            logger.warn("Falha ao remover snapshots antigos do catálogo", e);
+        }
+    }
+
+    /**
+     * Snapshot aberto, com a posição do feed já lida e os IDs alterados desde a exportação.
+     */
+    private static final class State {
+
+        final CatalogSnapshot snapshot;
+        final Set<Long> dirtyProducts = ConcurrentHashMap.newKeySet();
+        final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+
+        // início da última leitura completa do feed
+        volatile long caughtUpAt;
+
+        // alterações demais para acompanhar; o snapshot não responde mais as leituras
+        volatile boolean overflowed;
+
+        // acessado apenas pela thread de atualização
+        String since;
+
+        State(CatalogSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.since = String.valueOf(snapshot.getChangePosition());
+        }
+    }
+
+    /**
+     * Resultado da leitura feita dentro da transação da exportação; o arquivo ainda precisa ser finalizado.
+     */
+    private static final class ExportedRows {
+
+        final String since;
+        final int categoryCount;
+        final CatalogSnapshotWriter writer;
+
+        ExportedRows(String since, int categoryCount, CatalogSnapshotWriter writer) {
+            this.since = since;
+            this.categoryCount = categoryCount;
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * Grava cada produto completo no snapshot, com a versão e a data de atualização lidas da primeira linha.
+     */
+    private static class ProductRowCallbackHandler extends ProductRowGrouper {
+
+        private final CatalogSnapshotWriter writer;
+        private Instant updatedAt;
+
+        ProductRowCallbackHandler(CatalogSnapshotWriter writer) {
+            super(false);
+            this.writer = writer;
+        }
+
+        @Override
+        protected void readProduct(ProductDTO product, ResultSet rs) throws SQLException {
+            product.setVersion(longOf(rs, "version"));
+            updatedAt = instantOf(rs, "updated_at");
+        }
+
+        @Override
+        protected void write(ProductDTO product) throws IOException {
+            writer.writeProduct(product, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.devsuperior.dscatalog.dto.CatalogEventDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.CatalogChange;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serviço que distribui as alterações do catálogo, após o commit, aos assinantes do stream SSE.
+ *
+ * <p>Nenhuma thread fica presa a um assinante: cada um tem uma fila limitada de eventos, e a escrita
+ * na conexão é feita por um pool pequeno e compartilhado, que só é acionado quando a fila do assinante
+ * recebe eventos. O JSON de cada evento é gerado uma única vez, independentemente do número de assinantes.</p>
+ *
+ * <p>Quando a fila de um assinante lento enche, a política escolhida por ele decide: {@code DROP} descarta
+ * os eventos mais antigos e avisa o cliente com um evento {@code overflow}; {@code DISCONNECT} encerra a conexão.
+ * Uma escrita que fica bloqueada por mais de {@code dscatalog.stream.send-timeout-ms} (cliente que não lê
+ * a conexão) também encerra o assinante, liberando a thread do pool para os demais.
+ * Os últimos eventos ficam em um buffer circular para que uma reconexão com {@code Last-Event-ID} os receba
+ * novamente; se o ID não estiver mais no buffer, o cliente recebe um evento {@code reset} e deve se
+ * ressincronizar pelo feed de alterações.</p>
+ */
+@Service
+public class CatalogStreamService {
+
+    /**
+     * Política aplicada quando a fila de um assinante está cheia.
+     */
+    public enum OverflowPolicy {
+        DROP,
+        DISCONNECT
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogStreamService.class);
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(-1, null, null);
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private StreamEvent[] replay;
+    private long sequence;
+
+    private ExecutorService senders;
+    private ScheduledExecutorService heartbeats;
+    private Counter droppedCounter;
+    private Counter stalledCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dscatalog.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${dscatalog.stream.replay-size:1024}")
+    private int replaySize;
+
+    @Value("${dscatalog.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${dscatalog.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${dscatalog.stream.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${dscatalog.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    @PostConstruct
+    void start() {
+        replay = new StreamEvent[replaySize];
+        senders = Executors.newFixedThreadPool(senderThreads);
+        heartbeats = Executors.newSingleThreadScheduledExecutor();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        heartbeats.scheduleWithFixedDelay(this::closeStalled, sendTimeoutMillis, sendTimeoutMillis / 2,
+                TimeUnit.MILLISECONDS);
+        meterRegistry.gauge("dscatalog.stream.subscribers", subscribers, Set::size);
+        droppedCounter = meterRegistry.counter("dscatalog.stream.dropped");
+        stalledCounter = meterRegistry.counter("dscatalog.stream.stalled");
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        for (Subscriber s : subscribers) {
+            s.emitter.complete();
+        }
+        senders.shutdown();
+    }
+
+    /**
+     * Converte o nome da política de transbordamento recebido na requisição.
+     *
+     * @param name Nome da política ("drop" ou "disconnect").
+     * @return A política correspondente.
+     * @throws BadRequestException Se o nome não corresponder a nenhuma política.
+     */
+    public static OverflowPolicy policyOf(String name) {
+        try {
+            return OverflowPolicy.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Política de transbordamento inválida: " + name);
+        }
+    }
+
+    /**
+     * Registra um novo assinante, reenviando os eventos posteriores ao {@code Last-Event-ID}, se houver.
+     *
+     * @param lastEventId ID do último evento recebido pelo cliente (pode ser {@code null}).
+     * @param policy      Política aplicada quando a fila do assinante estiver cheia.
+     * @return O emissor SSE da conexão.
+     */
+    public SseEmitter subscribe(String lastEventId, OverflowPolicy policy) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, policy, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // o registro e o reenvio acontecem sob o mesmo bloqueio da publicação,
+        // para que nenhum evento seja perdido nem entregue duas vezes
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<StreamEvent> missed = eventsAfter(lastEventId);
+                if (missed == null) {
+                    subscriber.offer(new StreamEvent(-1, "reset", "{}"));
+                } else {
+                    for (StreamEvent event : missed) {
+                        if (!subscriber.offer(event)) {
+                            subscriber.dropped++;
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Publica a alteração de um produto após o commit.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        publish("product", new CatalogEventDTO(CatalogChange.PRODUCT, event.getId(),
+                event.getType().name(), event.getProduct()));
+    }
+
+    /**
+     * Publica os produtos de um bloco da importação em lote após o commit, em um único evento
+     * {@code products} cujo conteúdo é a lista das inserções.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        List<CatalogEventDTO> payload = new ArrayList<>(event.getProducts().size());
+        for (ProductDTO p : event.getProducts()) {
+            payload.add(new CatalogEventDTO(CatalogChange.PRODUCT, p.getId(), ChangeType.INSERT.name(), p));
+        }
+        publish("products", payload);
+    }
+
+    /**
+     * Publica a alteração de uma categoria após o commit.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        publish("category", new CatalogEventDTO(CatalogChange.CATEGORY, event.getId(),
+                event.getType().name(), event.getCategory()));
+    }
+
+    private void publish(String name, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.warn("Falha ao serializar evento do catálogo", e);
+            return;
+        }
+        List<Subscriber> ready = new ArrayList<>();
+        synchronized (this) {
+            StreamEvent event = new StreamEvent(++sequence, name, data);
+            replay[(int) (event.sequence % replay.length)] = event;
+            for (Subscriber s : subscribers) {
+                if (s.offer(event)) {
+                    ready.add(s);
+                } else if (s.policy == OverflowPolicy.DROP) {
+                    s.queue.poll();
+                    s.offer(event);
+                    s.dropped++;
+                    droppedCounter.increment();
+                    ready.add(s);
+                } else {
+                    subscribers.remove(s);
+                    droppedCounter.increment();
+                    s.emitter.complete();
+                }
+            }
+        }
+        for (Subscriber s : ready) {
+            schedule(s);
+        }
+    }
+
+    /**
+     * Retorna os eventos do buffer circular posteriores ao ID informado,
+     * ou {@code null} se o ID for de outra instância ou já tiver saído do buffer.
+     */
+    private List<StreamEvent> eventsAfter(String lastEventId) {
+        int sep = lastEventId.lastIndexOf('-');
+        if (sep < 0 || !lastEventId.substring(0, sep).equals(instance)) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(sep + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (last > sequence || sequence - last > replay.length) {
+            return null;
+        }
+        List<StreamEvent> list = new ArrayList<>();
+        for (long seq = last + 1; seq <= sequence; seq++) {
+            list.add(replay[(int) (seq % replay.length)]);
+        }
+        return list;
+    }
+
+    private void heartbeat() {
+        List<Subscriber> ready = new ArrayList<>();
+        synchronized (this) {
+            for (Subscriber s : subscribers) {
+                if (s.queue.isEmpty() && s.offer(HEARTBEAT)) {
+                    ready.add(s);
+                }
+            }
+        }
+        for (Subscriber s : ready) {
+            schedule(s);
+        }
+    }
+
+    /**
+     * Encerra os assinantes cuja escrita está bloqueada há mais que o tempo limite: o assinante deixa de
+     * receber eventos e a thread que escreve para ele é interrompida. O bloqueio em {@code s} garante que
+     * a interrupção só atinja a thread enquanto ela ainda escreve para esse assinante.
+     */
+    private void closeStalled() {
+        long now = System.nanoTime();
+        long limit = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (Subscriber s : subscribers) {
+            long started = s.sendStartedAt;
+            if (started != 0 && now - started > limit) {
+                synchronized (s) {
+                    if (s.sender != null && subscribers.remove(s)) {
+                        s.stalled = true;
+                        stalledCounter.increment();
+                        s.sender.interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    private void schedule(Subscriber s) {
+        if (!s.queue.isEmpty() && s.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(s));
+            } catch (RuntimeException e) {
+                s.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Escreve na conexão os eventos pendentes de um assinante. No máximo uma tarefa
+     * por assinante fica agendada por vez, o que preserva a ordem dos eventos.
+     */
+    private void drain(Subscriber s) {
+        s.sender = Thread.currentThread();
+        try {
+            long dropped;
+            synchronized (this) {
+                dropped = s.dropped;
+                s.dropped = 0;
+            }
+            if (dropped > 0) {
+                send(s, SseEmitter.event().name("overflow").data("{\"dropped\":" + dropped + "}",
+                        MediaType.APPLICATION_JSON));
+            }
+            StreamEvent event;
+            while (!s.stalled && (event = s.queue.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    send(s, SseEmitter.event().comment("keep-alive"));
+                } else if (event.sequence < 0) {
+                    send(s, SseEmitter.event().name(event.name).data(event.data, MediaType.APPLICATION_JSON));
+                } else {
+                    send(s, SseEmitter.event().id(instance + "-" + event.sequence).name(event.name)
+                            .data(event.data, MediaType.APPLICATION_JSON));
+                }
+            }
+            if (s.stalled) {
+                throw new IOException("Tempo limite de escrita excedido");
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(s);
+            s.emitter.completeWithError(e);
+            return;
+        } finally {
+            synchronized (s) {
+                s.sender = null;
+                // descarta uma interrupção destinada a este assinante antes de a thread voltar ao pool
+                Thread.interrupted();
+            }
+            s.scheduled.set(false);
+        }
+        schedule(s);
+    }
+
+    private void send(Subscriber s, SseEventBuilder event) throws IOException {
+        s.sendStartedAt = System.nanoTime();
+        try {
+            s.emitter.send(event);
+        } finally {
+            s.sendStartedAt = 0;
+        }
+    }
+
+    private static final class StreamEvent {
+
+        final long sequence;
+        final String name;
+        final String data;
+
+        StreamEvent(long sequence, String name, String data) {
+            this.sequence = sequence;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final OverflowPolicy policy;
+        final Queue<StreamEvent> queue;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        long dropped;
+        volatile Thread sender;
+        volatile long sendStartedAt;
+        volatile boolean stalled;
+
+        Subscriber(SseEmitter emitter, OverflowPolicy policy, int capacity) {
+            this.emitter = emitter;
+            this.policy = policy;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        boolean offer(StreamEvent event) {
+            return queue.offer(event);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.repositories.CatalogChangeRepository;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Componente que mantém em memória a versão do catálogo, usada para montar os ETags das listagens
+ * sem consultar o banco a cada requisição.
+ *
+ * <p>A versão é a última posição do feed de alterações ({@link CatalogChangeLogService}), que é gravada
+ * no banco na mesma transação de cada alteração de produto ou categoria. Por isso todas as réplicas
+ * chegam à mesma versão para o mesmo estado do catálogo. Ela é relida após o commit de uma alteração
+ * local e a cada {@code dscatalog.catalog-version.refresh-ms}; uma alteração feita em outra réplica
+ * passa a valer aqui em no máximo esse intervalo.</p>
+ */
+@Component
+public class CatalogVersionTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersionTracker.class);
+
+    private final AtomicLong version = new AtomicLong();
+    private ScheduledExecutorService refresher;
+
+    @Autowired
+    private CatalogChangeRepository changeRepository;
+
+    @Value("${dscatalog.catalog-version.refresh-ms:1000}")
+    private long refreshMillis;
+
+    @PostConstruct
+    void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-version-refresher");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Retorna a versão atual do catálogo.
+     *
+     * @return A última posição conhecida do feed de alterações.
+     */
+    public String current() {
+        return Long.toString(version.get());
+    }
+
+    /**
+     * Relê a versão após o commit de uma alteração de produto. Executa antes dos demais ouvintes,
+     * para que eles já vejam a nova versão.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Relê a versão uma única vez após o commit de um bloco da importação em lote.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Relê a versão após o commit de uma alteração de categoria. Executa antes dos demais ouvintes,
+     * para que eles já vejam a nova versão.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+    }
+
+    private void refresh() {
+        try {
+            long last = changeRepository.findLastPosition();
+            // leituras concorrentes podem terminar fora de ordem; a versão nunca volta
+            version.accumulateAndGet(last, Math::max);
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao ler a versão do catálogo", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterPageDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import com.devsuperior.dscatalog.services.search.CategoryBitmapIndex;
+
+/**
+ * Serviço de filtragem de produtos por expressões de categorias.
+ * Mantém um {@link CategoryBitmapIndex} em memória, construído na inicialização da aplicação
+ * e atualizado após o commit de cada alteração de produto; o banco de dados só é consultado
+ * para carregar os produtos da página solicitada.
+ */
+@Service
+public class CategoryFilterService {
+
+    private final CategoryBitmapIndex index = new CategoryBitmapIndex();
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Retorna uma página dos produtos que atendem à expressão de categorias, em ordem de ID,
+     * com as facetas do resultado completo.
+     *
+     * @param expression Expressão de categorias (por exemplo, {@code 1,2,-3} ou {@code (1|2),-3}).
+     * @param pageable   Página e tamanho; apenas a ordenação por ID é suportada.
+     * @return A página de produtos com as facetas.
+     * @throws BadRequestException Se a expressão ou a ordenação forem inválidas.
+     */
+    public ProductFilterPageDTO filter(String expression, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!order.getProperty().equals("id") || order.isDescending()) {
+                throw new BadRequestException("O filtro por categorias só suporta ordenação crescente por id");
+            }
+        }
+        CategoryBitmapIndex.Selection selection;
+        try {
+            selection = index.select(expression);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        List<Long> ids = selection.page(pageable.getOffset(), pageable.getPageSize());
+        List<ProductSummaryDTO> content = productService.findSummaries(ids);
+        return new ProductFilterPageDTO(content, pageable.getPageNumber(), pageable.getPageSize(),
+                selection.count(), selection.getFacets());
+    }
+
+    /**
+     * Retorna o índice de bitmaps, para consultas de outros serviços.
+     *
+     * @return O índice de bitmaps de categorias.
+     */
+    public CategoryBitmapIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Reconstrói o índice a partir da tabela de associação entre produtos e categorias.
+     * Executado automaticamente quando a aplicação termina de inicializar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, List<Long>> categories = new HashMap<>();
+        for (Long id : repository.findAllIds()) {
+            categories.put(id, new ArrayList<>());
+        }
+        for (ProductCategoryProjection row : repository.findAllCategoryIds()) {
+            categories.computeIfAbsent(row.getProductId(), id -> new ArrayList<>()).add(row.getCategoryId());
+        }
+        index.clear();
+        for (Map.Entry<Long, List<Long>> e : categories.entrySet()) {
+            index.put(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de produto.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ChangeType.DELETE) {
+            index.remove(event.getId());
+        } else {
+            List<Long> categoryIds = new ArrayList<>();
+            for (CategoryDTO c : event.getProduct().getCategories()) {
+                categoryIds.add(c.getId());
+            }
+            index.put(event.getId(), categoryIds);
+        }
+    }
+
+    /**
+     * Acrescenta ao índice os produtos de um bloco da importação em lote após o commit.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        for (ProductDTO p : event.getProducts()) {
+            List<Long> categoryIds = new ArrayList<>();
+            for (CategoryDTO c : p.getCategories()) {
+                categoryIds.add(c.getId());
+            }
+            index.put(p.getId(), categoryIds);
+        }
+    }
+
+    /**
+     * Remove o bitmap de uma categoria após o commit de sua remoção.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() == ChangeType.DELETE) {
+            index.removeCategory(event.getId());
+        }
+    }
+}
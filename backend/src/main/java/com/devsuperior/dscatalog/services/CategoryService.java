@@ -1,8 +1,15 @@
 package com.devsuperior.dscatalog.services;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -10,10 +17,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.MultiGetDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.projections.VersionProjection;
+import com.devsuperior.dscatalog.services.coalescing.Coalesced;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.pagination.KeysetCursor;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -24,35 +40,112 @@ import jakarta.persistence.EntityNotFoundException;
 @Service
 public class CategoryService {
 
+    private static final Set<String> KEYSET_ORDERS = Set.of("id", "name");
+    // limita o tamanho da cláusula IN ao incrementar a versão dos produtos da categoria
+    private static final int TOUCH_CHUNK = 1000;
+
     @Autowired
     private CategoryRepository repository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
     /**
      * Retorna uma página de categorias paginadas.
      *
      * @param pageRequest Objeto que contém informações de paginação e ordenação.
      * @return Uma página de DTOs de categoria.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<CategoryDTO> findAllPaged(PageRequest pageRequest) {
         Page<Category> list = repository.findAll(pageRequest);
         return list.map(x -> new CategoryDTO(x));
     }
 
+    /**
+     * Retorna uma fatia de categorias paginada por cursor (keyset), sem consulta de contagem.
+     *
+     * @param after   Token da última fatia recebida (vazio para a primeira fatia).
+     * @param size    Quantidade de categorias da fatia.
+     * @param orderBy Campo de ordenação ("id" ou "name").
+     * @return Uma fatia de DTOs de categoria com o token da próxima fatia.
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorSliceDTO<CategoryDTO> findAllAfter(String after, int size, String orderBy) {
+        KeysetCursor cursor = KeysetCursor.decode(after, orderBy, KEYSET_ORDERS);
+        List<Category> list = "name".equals(orderBy)
+                ? repository.findNextByName(cursor.getValue(), cursor.getId(), KeysetCursor.limit(size))
+                : repository.findNextById(cursor.getId(), KeysetCursor.limit(size));
+        return KeysetCursor.slice(list, size, x -> new CategoryDTO(x),
+                x -> KeysetCursor.of(orderBy, x.getId(), x.getName()));
+    }
+
+    /**
+     * Retorna apenas a versão e a data da última alteração de uma categoria,
+     * usadas para responder requisições condicionais sem carregar a categoria.
+     * Lê do {@link CatalogSnapshotService} quando possível; não abre transação.
+     *
+     * @param id O ID da categoria.
+     * @return A projeção de versão da categoria.
+     * @throws ResourceNotFoundException Se a categoria não for encontrada.
+     */
+    @Coalesced
+    public VersionProjection findVersion(Long id) {
+        VersionProjection version = snapshotService.findCategoryVersion(id);
+        if (version != null) {
+            return version;
+        }
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Entidade não encontrada!"));
+    }
+
     /**
      * Retorna uma categoria pelo seu ID.
+     * Lê do {@link CatalogSnapshotService} quando possível e, senão, do banco, sem abrir transação própria.
      *
      * @param id O ID da categoria a ser retornada.
      * @return O DTO da categoria encontrada.
      * @throws ResourceNotFoundException Se a categoria não for encontrada.
      */
-    @Transactional(readOnly = true)
+    @Coalesced
     public CategoryDTO findById(Long id) {
+        CategoryDTO dto = snapshotService.findCategory(id);
+        if (dto != null) {
+            return dto;
+        }
         Optional<Category> obj = repository.findById(id);
         Category entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entidade não encontrada!"));
         return new CategoryDTO(entity);
     }
     
+    /**
+     * Retorna várias categorias pelos seus IDs, em uma única consulta.
+     *
+     * @param ids IDs das categorias, na ordem desejada (no máximo {@value ProductService#MAX_IDS}).
+     * @return As categorias na ordem dos IDs, com os IDs inexistentes marcados.
+     * @throws BadRequestException Se a lista de IDs estiver vazia ou for grande demais.
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public MultiGetDTO<CategoryDTO> findByIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > ProductService.MAX_IDS) {
+            throw new BadRequestException("Informe entre 1 e " + ProductService.MAX_IDS + " IDs");
+        }
+        Map<Long, CategoryDTO> found = new HashMap<>();
+        for (Category c : repository.findAllById(new HashSet<>(ids))) {
+            found.put(c.getId(), new CategoryDTO(c));
+        }
+        return new MultiGetDTO<>(ids, found);
+    }
+
     /**
      * Insere uma nova categoria.
      *
@@ -64,11 +157,16 @@ public class CategoryService {
         Category entity = new Category();
         entity.setName(obj.getName());
         entity = repository.save(entity);
-        return new CategoryDTO(entity);
+        CategoryDTO dto = new CategoryDTO(entity);
+        eventPublisher.publishEvent(new CategoryChangedEvent(dto.getId(), ChangeType.INSERT, dto));
+        return dto;
     }
     
     /**
      * Atualiza uma categoria existente.
+     * Como o nome da categoria faz parte da representação dos produtos, a versão dos produtos
+     * da categoria também é incrementada, invalidando seus ETags; os IDs desses produtos seguem no evento,
+     * para que o log de alterações registre cada um deles.
      *
      * @param id O ID da categoria a ser atualizada.
      * @param obj O DTO com os dados atualizados da categoria.
@@ -80,8 +178,16 @@ public class CategoryService {
         try {
             Category entity = repository.getReferenceById(id);
             entity.setName(obj.getName());
-            entity = repository.save(entity);
-            return new CategoryDTO(entity);
+            // o flush incrementa a versão antes de montar o DTO
+            entity = repository.saveAndFlush(entity);
+            List<Long> productIds = productRepository.findIdsByCategory(id);
+            Instant now = Instant.now();
+            for (int i = 0; i < productIds.size(); i += TOUCH_CHUNK) {
+                productRepository.touchByIds(productIds.subList(i, Math.min(i + TOUCH_CHUNK, productIds.size())), now);
+            }
+            CategoryDTO dto = new CategoryDTO(entity);
+            eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.UPDATE, dto, productIds));
+            return dto;
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id " + id + " não encontrado!");
         }
@@ -96,12 +202,17 @@ public class CategoryService {
      */
     @Transactional
     public void delete(Long id) {
+        // deleteById não falha para um ID inexistente, e o evento só deve sair após uma exclusão real
+        if (!repository.existsById(id)) {
+            throw new ResourceNotFoundException("Id " + id + " não encontrado!");
+        }
         try {
             repository.deleteById(id);
-        } catch (EntityNotFoundException e) {
-            throw new ResourceNotFoundException("Id " + id + " não encontrado!");
+            // o flush antecipa a violação de integridade para cá, antes de publicar o evento
+            repository.flush();
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Integrity Violation");
         }
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.DELETE, null));
     }
 }
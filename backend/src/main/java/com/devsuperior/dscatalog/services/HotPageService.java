@@ -0,0 +1,219 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serviço que mantém as primeiras páginas das listagens padrão de produtos e categorias já serializadas
+ * em JSON, para que sejam respondidas sem transação, sem conversão para DTO e sem Jackson.
+ *
+ * <p>As páginas são reconstruídas em uma thread própria na inicialização e após o commit de qualquer
+ * alteração do catálogo; várias alterações seguidas resultam em uma única reconstrução. Cada conjunto
+ * de páginas guarda a versão do {@link CatalogVersionTracker} em que foi montado e só é usado enquanto
+ * essa versão for a atual. Caso contrário, a requisição segue o caminho normal e uma reconstrução é agendada.
+ * A reconstrução lê as páginas dentro de uma transação própria, para que nunca aproveite uma consulta
+ * agrupada pelo {@link com.devsuperior.dscatalog.services.coalescing.Coalesced} iniciada antes do commit.</p>
+ */
+@Service
+public class HotPageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotPageService.class);
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    private ExecutorService refresher;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CatalogVersionTracker catalogVersion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dscatalog.hot-pages.pages:2}")
+    private int pages;
+
+    @Value("${spring.data.web.pageable.default-page-size:20}")
+    private int productPageSize;
+
+    @PostConstruct
+    void start() {
+        refresher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "hot-page-refresher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Retorna a página padrão de produtos ({@code GET /products} sem tamanho nem ordenação) já serializada.
+     *
+     * @param pageable Paginação da requisição.
+     * @param version  Versão atual do catálogo.
+     * @return O JSON da página, ou {@code null} se a página não for uma das páginas padrão pré-calculadas.
+     */
+    public byte[] findProductPage(Pageable pageable, String version) {
+        int page = pageable.getPageNumber();
+        if (page >= pages || !pageable.equals(productPage(page))) {
+            return null;
+        }
+        Snapshot s = current(version);
+        return s == null ? null : s.products[page];
+    }
+
+    /**
+     * Retorna a página padrão de categorias ({@code GET /categories} com 12 itens ordenados por nome) já serializada.
+     *
+     * @param pageRequest Paginação da requisição.
+     * @param version     Versão atual do catálogo.
+     * @return O JSON da página, ou {@code null} se a página não for uma das páginas padrão pré-calculadas.
+     */
+    public byte[] findCategoryPage(PageRequest pageRequest, String version) {
+        int page = pageRequest.getPageNumber();
+        if (page >= pages || !pageRequest.equals(categoryPage(page))) {
+            return null;
+        }
+        Snapshot s = current(version);
+        return s == null ? null : s.categories[page];
+    }
+
+    /**
+     * Agenda a reconstrução das páginas quando a aplicação termina de inicializar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        refresh();
+    }
+
+    /**
+     * Agenda a reconstrução das páginas após o commit de uma alteração de produto.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Agenda a reconstrução das páginas após o commit de um bloco da importação em lote.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Agenda a reconstrução das páginas após o commit de uma alteração de categoria.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+    }
+
+    private Snapshot current(String version) {
+        Snapshot s = snapshot;
+        if (s == null || !s.version.equals(version)) {
+            refresh();
+            return null;
+        }
+        return s;
+    }
+
+    private void refresh() {
+        if (scheduled.compareAndSet(false, true)) {
+            refresher.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        // liberado antes de ler o banco, para que alterações durante a reconstrução agendem outra
+        scheduled.set(false);
+        // a versão é lida antes das páginas, para que elas nunca sejam mais antigas que a versão
+        String version = catalogVersion.current();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            Object[] productPages = new Object[pages];
+            Object[] categoryPages = new Object[pages];
+            transaction.executeWithoutResult(status -> {
+                for (int i = 0; i < pages; i++) {
+                    productPages[i] = productService.findAllPaged(productPage(i));
+                    categoryPages[i] = categoryService.findAllPaged(categoryPage(i));
+                }
+            });
+            // a serialização acontece fora da transação, sem ocupar a conexão
+            byte[][] products = new byte[pages][];
+            byte[][] categories = new byte[pages][];
+            for (int i = 0; i < pages; i++) {
+                products[i] = objectMapper.writeValueAsBytes(productPages[i]);
+                categories[i] = objectMapper.writeValueAsBytes(categoryPages[i]);
+            }
+            snapshot = new Snapshot(version, products, categories);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Falha ao reconstruir as páginas pré-calculadas do catálogo", e);
+        }
+    }
+
+    private Pageable productPage(int page) {
+        return PageRequest.of(page, productPageSize);
+    }
+
+    private PageRequest categoryPage(int page) {
+        return PageRequest.of(page, 12, Direction.ASC, "name");
+    }
+
+    private static final class Snapshot {
+
+        final String version;
+        final byte[][] products;
+        final byte[][] categories;
+
+        Snapshot(String version, byte[][] products, byte[][] categories) {
+            this.version = version;
+            this.products = products;
+            this.categories = categories;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serviço que executa o hash e a verificação de senhas BCrypt em um pool de threads dedicado.
+ *
+ * <p>Cada hash com custo 12 consome centenas de milissegundos de CPU. Executá-lo na thread da requisição
+ * deixaria uma rajada de cadastros ocupar todas as threads do Tomcat; aqui o trabalho vai para um pool
+ * do tamanho dos processadores, com fila limitada. Quando a fila está cheia, ou a espera passa de
+ * {@code dscatalog.password.timeout-ms}, a requisição falha imediatamente com 503 em vez de enfileirar.</p>
+ *
+ * <p>Publica no Actuator o tempo de cada operação ({@code dscatalog.password.hash}), o tamanho da fila
+ * ({@code dscatalog.password.queue}) e as rejeições ({@code dscatalog.password.rejected}).</p>
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejectedCounter;
+    private String dummyHash;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dscatalog.password.bcrypt-strength:12}")
+    private int strength;
+
+    @Value("${dscatalog.password.threads:0}")
+    private int threads;
+
+    @Value("${dscatalog.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${dscatalog.password.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @PostConstruct
+    void start() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        encodeTimer = meterRegistry.timer("dscatalog.password.hash", "operation", "encode");
+        matchesTimer = meterRegistry.timer("dscatalog.password.hash", "operation", "matches");
+        rejectedCounter = meterRegistry.counter("dscatalog.password.rejected");
+        meterRegistry.gauge("dscatalog.password.queue", executor, e -> e.getQueue().size());
+        dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Gera o hash BCrypt da senha, com o custo configurado em {@code dscatalog.password.bcrypt-strength}.
+     *
+     * @param rawPassword Senha em texto puro.
+     * @return O hash da senha.
+     * @throws ServiceUnavailableException Se o pool de hash estiver sobrecarregado.
+     */
+    public String encode(String rawPassword) {
+        return execute(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Verifica se a senha corresponde ao hash armazenado.
+     *
+     * @param rawPassword     Senha em texto puro.
+     * @param encodedPassword Hash armazenado.
+     * @return {@code true} se a senha corresponder ao hash.
+     * @throws ServiceUnavailableException Se o pool de hash estiver sobrecarregado.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Verifica a senha contra um hash fixo, gerado com o custo configurado, e descarta o resultado.
+     * Usado quando o usuário não existe, para que a resposta leve o mesmo tempo de quando ele existe
+     * e não revele quais emails estão cadastrados.
+     *
+     * @param rawPassword Senha em texto puro.
+     * @throws ServiceUnavailableException Se o pool de hash estiver sobrecarregado.
+     */
+    public void matchesDummy(String rawPassword) {
+        matches(rawPassword, dummyHash);
+    }
+
+    /**
+     * Indica se o hash foi gerado com um custo diferente do configurado e deve ser refeito
+     * no próximo login bem-sucedido.
+     *
+     * @param encodedPassword Hash armazenado.
+     * @return {@code true} se o hash deve ser refeito.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher m = BCRYPT_COST.matcher(encodedPassword);
+        return !m.find() || Integer.parseInt(m.group(1)) != strength;
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Servidor ocupado processando senhas. Tente novamente em instantes.");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Servidor ocupado processando senhas. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Processamento da senha interrompido");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
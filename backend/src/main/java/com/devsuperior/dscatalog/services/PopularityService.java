@@ -0,0 +1,211 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.TopProductDTO;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import com.devsuperior.dscatalog.services.popularity.PopularityScores;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serviço de popularidade dos produtos ("mais vistos" e "em alta").
+ *
+ * <p>Cada visualização apenas incrementa um {@link LongAdder} do produto, sem bloqueio e sem acesso ao banco.
+ * A cada {@code dscatalog.popularity.flush-ms} uma única thread recolhe os contadores, atualiza as pontuações
+ * em memória ({@link PopularityScores}) e a popularidade das sugestões, e grava os incrementos em
+ * {@code tb_product.view_count} com um único lote de UPDATEs. Se a gravação falhar, os incrementos
+ * são mantidos para a próxima rodada.</p>
+ *
+ * <p>A classificação é respondida pela memória; os produtos são lidos do cache de produtos.</p>
+ */
+@Service
+public class PopularityService {
+
+    public static final int MAX_LIMIT = ProductService.MAX_IDS;
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularityService.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE tb_product SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+    private final PopularityScores scores = new PopularityScores();
+
+    // acessado apenas pela thread de gravação
+    private final Map<Long, Long> unsaved = new TreeMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryFilterService categoryFilterService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Value("${dscatalog.popularity.flush-ms:10000}")
+    private long flushMillis;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor();
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushMillis, TimeUnit.MILLISECONDS);
+        flush();
+    }
+
+    /**
+     * Registra uma visualização do produto.
+     *
+     * @param productId ID do produto.
+     */
+    public void recordView(Long productId) {
+        counters.computeIfAbsent(productId, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Retorna os produtos mais populares da janela, opcionalmente restritos a uma categoria.
+     *
+     * @param window     Janela de popularidade ("1h", "24h", "7d" ou "all").
+     * @param categoryId ID da categoria (opcional).
+     * @param limit      Quantidade máxima de produtos (no máximo {@value #MAX_LIMIT}).
+     * @return Os produtos em ordem decrescente de pontuação.
+     * @throws BadRequestException Se a janela ou o limite forem inválidos.
+     */
+    public List<TopProductDTO> top(String window, Long categoryId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("O limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        PopularityScores.Window w;
+        try {
+            w = PopularityScores.Window.of(window);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        LongPredicate filter = id -> true;
+        if (categoryId != null) {
+            RoaringBitmap products = categoryFilterService.getIndex().productsOf(categoryId);
+            filter = id -> products.contains((int) id);
+        }
+        List<PopularityScores.Scored> ranked = scores.top(w, filter, limit);
+        if (ranked.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (PopularityScores.Scored s : ranked) {
+            ids.add(s.getProductId());
+        }
+        List<ProductDTO> products = productService.findByIds(ids).getContent();
+        List<TopProductDTO> list = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            if (products.get(i) != null) {
+                list.add(new TopProductDTO(products.get(i), ranked.get(i).getScore()));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Carrega os totais de visualizações gravados no banco.
+     * Executado automaticamente quando a aplicação termina de inicializar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Long> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT id, view_count FROM tb_product WHERE view_count > 0",
+                (RowCallbackHandler) rs -> totals.put(rs.getLong("id"), rs.getLong("view_count")));
+        scores.load(totals, System.currentTimeMillis());
+    }
+
+    /**
+     * Remove o produto das classificações após o commit da sua exclusão.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ChangeType.DELETE) {
+            counters.remove(event.getId());
+            scores.remove(event.getId());
+        }
+    }
+
+    /**
+     * Recolhe os contadores, atualiza as pontuações e grava os incrementos no banco.
+     */
+    synchronized void flush() {
+        try {
+            Map<Long, Long> views = new HashMap<>();
+            for (Map.Entry<Long, LongAdder> e : counters.entrySet()) {
+                long n = e.getValue().sum();
+                if (n > 0) {
+                    // subtrai em vez de zerar, para não perder incrementos concorrentes
+                    e.getValue().add(-n);
+                    views.put(e.getKey(), n);
+                }
+            }
+            scores.record(views, System.currentTimeMillis());
+            for (Long id : views.keySet()) {
+                suggestionService.updateProductWeight(id, scores.totalOf(id));
+            }
+            views.forEach((id, n) -> unsaved.merge(id, n, Long::sum));
+            if (!unsaved.isEmpty()) {
+                save();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao gravar as visualizações de produtos; nova tentativa na próxima rodada", e);
+        }
+    }
+
+    private void save() {
+        List<Object[]> args = new ArrayList<>(unsaved.size());
+        for (Map.Entry<Long, Long> e : unsaved.entrySet()) {
+            args.add(new Object[] { e.getValue(), e.getKey() });
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(UPDATE_SQL, args));
+        unsaved.clear();
+    }
+}
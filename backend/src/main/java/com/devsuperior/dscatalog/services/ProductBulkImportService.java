@@ -0,0 +1,228 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.BulkImportLineDTO;
+import com.devsuperior.dscatalog.dto.BulkImportSummaryDTO;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Serviço responsável pela importação em lote de produtos a partir de um fluxo NDJSON
+ * (um {@link ProductDTO} em JSON por linha).
+ *
+ * <p>O fluxo é lido linha a linha e gravado em blocos de {@code dscatalog.bulk-import.chunk-size} linhas,
+ * cada bloco em sua própria transação. Os IDs vêm de sequências com alocação em pool e os inserts
+ * de produtos e de {@code tb_product_category} são enviados em lotes JDBC, de modo que nem o arquivo
+ * inteiro nem o contexto de persistência crescem com o tamanho da importação. Cada bloco publica um único
+ * {@link ProductsImportedEvent}.</p>
+ */
+@Service
+public class ProductBulkImportService {
+
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${dscatalog.bulk-import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Importa os produtos do fluxo NDJSON, escrevendo o resultado de cada linha na saída,
+     * também em NDJSON, à medida que cada bloco é confirmado. A última linha da saída
+     * é um {@link BulkImportSummaryDTO}.
+     *
+     * @param in  Fluxo de entrada com um produto por linha.
+     * @param out Fluxo de saída que recebe o resultado de cada linha.
+     * @return O resumo da importação.
+     * @throws IOException Se ocorrer um erro de leitura ou escrita nos fluxos.
+     */
+    public BulkImportSummaryDTO importNdjson(InputStream in, OutputStream out) throws IOException {
+        Set<Long> knownCategoryIds = new HashSet<>(categoryRepository.findAllIds());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<BulkImportLineDTO> results = new ArrayList<>();
+        List<ProductDTO> pending = new ArrayList<>();
+        List<BulkImportLineDTO> pendingResults = new ArrayList<>();
+        long lineNumber = 0;
+        long total = 0;
+        long created = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            total++;
+            BulkImportLineDTO result = new BulkImportLineDTO(lineNumber, BulkImportLineDTO.CREATED, null, null);
+            results.add(result);
+            String error = null;
+            ProductDTO dto = null;
+            try {
+                dto = objectMapper.readValue(line, ProductDTO.class);
+                error = validate(dto, knownCategoryIds);
+            } catch (JsonProcessingException e) {
+                error = "JSON inválido: " + e.getOriginalMessage();
+            } catch (RuntimeException e) {
+                // uma linha inesperada não pode interromper a resposta no meio da importação
+                error = "Linha inválida: " + e.getMessage();
+            }
+            if (error != null) {
+                result.setStatus(BulkImportLineDTO.INVALID);
+                result.setMessage(error);
+            } else {
+                pending.add(dto);
+                pendingResults.add(result);
+            }
+
+            if (results.size() >= chunkSize) {
+                created += saveChunk(transaction, pending, pendingResults);
+                writeResults(out, results);
+            }
+        }
+        created += saveChunk(transaction, pending, pendingResults);
+        writeResults(out, results);
+
+        BulkImportSummaryDTO summary = new BulkImportSummaryDTO(total, created, total - created);
+        out.write(objectMapper.writeValueAsBytes(summary));
+        out.write(NEW_LINE);
+        out.flush();
+        return summary;
+    }
+
+    /**
+     * Grava um bloco de produtos em uma única transação. Se a transação falhar,
+     * todas as linhas do bloco são marcadas como FAILED.
+     *
+     * @return Quantidade de produtos criados.
+     */
+    private long saveChunk(TransactionTemplate transaction, List<ProductDTO> pending,
+                           List<BulkImportLineDTO> pendingResults) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        long created;
+        try {
+            List<Long> ids = transaction.execute(status -> {
+                List<Product> entities = new ArrayList<>(pending.size());
+                for (ProductDTO dto : pending) {
+                    Product entity = new Product();
+                    entity.setName(dto.getName());
+                    entity.setDescription(dto.getDescription());
+                    entity.setDate(dto.getDate());
+                    entity.setImgUrl(dto.getImgUrl());
+                    entity.setPrice(dto.getPrice());
+                    for (CategoryDTO catDto : dto.getCategories()) {
+                        entity.getCategories().add(categoryRepository.getReferenceById(catDto.getId()));
+                    }
+                    entityManager.persist(entity);
+                    entities.add(entity);
+                }
+                List<Long> list = new ArrayList<>(entities.size());
+                List<ProductDTO> dtos = new ArrayList<>(entities.size());
+                for (Product entity : entities) {
+                    list.add(entity.getId());
+                    dtos.add(new ProductDTO(entity, entity.getCategories()));
+                }
+                // um único evento por bloco: após o commit, cada ouvinte trabalha uma vez por bloco, não por linha.
+                // Ele é publicado antes do flush para que os registros do log de alterações
+                // entrem no mesmo lote JDBC e não sejam descartados pelo clear
+                eventPublisher.publishEvent(new ProductsImportedEvent(dtos));
+                entityManager.flush();
+                entityManager.clear();
+                return list;
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                pendingResults.get(i).setId(ids.get(i));
+            }
+            created = ids.size();
+        } catch (RuntimeException e) {
+            for (BulkImportLineDTO result : pendingResults) {
+                result.setStatus(BulkImportLineDTO.FAILED);
+                result.setMessage("Falha ao gravar o bloco: " + e.getMessage());
+            }
+            created = 0;
+        }
+        pending.clear();
+        pendingResults.clear();
+        return created;
+    }
+
+    /**
+     * Valida uma linha antes de gravá-la, para que um produto inválido não derrube o bloco inteiro.
+     *
+     * @return A mensagem de erro, ou {@code null} se a linha for válida.
+     */
+    private String validate(ProductDTO dto, Set<Long> knownCategoryIds) {
+        if (dto == null) {
+            return "A linha deve conter um objeto JSON";
+        }
+        if (dto.getCategories() == null) {
+            return "categories: não deve ser nulo";
+        }
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<ProductDTO> v = violations.iterator().next();
+            return v.getPropertyPath() + ": " + v.getMessage();
+        }
+        for (CategoryDTO catDto : dto.getCategories()) {
+            if (catDto == null || catDto.getId() == null || !knownCategoryIds.contains(catDto.getId())) {
+                return "Categoria não encontrada: " + (catDto == null ? null : catDto.getId());
+            }
+        }
+        return null;
+    }
+
+    private void writeResults(OutputStream out, List<BulkImportLineDTO> results) throws IOException {
+        for (BulkImportLineDTO result : results) {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write(NEW_LINE);
+        }
+        out.flush();
+        results.clear();
+    }
+}
@@ -0,0 +1,58 @@
+package com.devsuperior.dscatalog.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+
+/**
+ * Componente que invalida o cache de produtos e o {@link ProductJsonCache} após o commit das alterações.
+ * Produtos alterados ou removidos são retirados do cache individualmente; como o nome das
+ * categorias faz parte do {@link com.devsuperior.dscatalog.dto.ProductDTO}, a alteração
+ * de uma categoria limpa o cache inteiro.
+ */
+@Component
+public class ProductCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductJsonCache jsonCache;
+
+    /**
+     * Remove do cache o produto alterado.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() != ChangeType.INSERT) {
+            productsCache().evict(event.getId());
+            jsonCache.invalidate(event.getId());
+        }
+    }
+
+    /**
+     * Limpa o cache de produtos quando uma categoria é alterada ou removida.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() != ChangeType.INSERT) {
+            productsCache().clear();
+            jsonCache.invalidateAll();
+        }
+    }
+
+    private Cache productsCache() {
+        return cacheManager.getCache(CacheConfig.PRODUCTS);
+    }
+}
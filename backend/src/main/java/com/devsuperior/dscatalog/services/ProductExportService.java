@@ -0,0 +1,172 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serviço responsável pela exportação completa do catálogo de produtos em NDJSON ou CSV.
+ *
+ * <p>Os produtos e suas categorias são lidos em uma única consulta JDBC somente-avanço, com
+ * {@code fetchSize} configurável, e escritos na saída à medida que cada produto é completado.
+ * Nenhuma entidade é gerenciada pelo JPA e o resultado nunca é materializado, de modo que
+ * o consumo de memória é constante independentemente do tamanho do catálogo.</p>
+ */
+@Service
+public class ProductExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final String SQL = "SELECT p.id, p.name, p.description, p.price, p.img_url, p.date, "
+            + "c.id AS category_id, c.name AS category_name "
+            + "FROM tb_product p "
+            + "LEFT JOIN tb_product_category pc ON pc.product_id = p.id "
+            + "LEFT JOIN tb_category c ON c.id = pc.category_id "
+            + "ORDER BY p.id, c.id";
+
+    private static final String CSV_HEADER = "id,name,description,price,imgUrl,date,categoryIds,categoryNames\n";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dscatalog.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Valida o formato de exportação solicitado.
+     *
+     * @param format Formato solicitado.
+     * @throws BadRequestException Se o formato não for "ndjson" nem "csv".
+     */
+    public void checkFormat(String format) {
+        if (!NDJSON.equals(format) && !CSV.equals(format)) {
+            throw new BadRequestException("Formato de exportação inválido: " + format);
+        }
+    }
+
+    /**
+     * Escreve todos os produtos, com suas categorias, no fluxo de saída.
+     * A transação somente-leitura é necessária para que drivers como o do PostgreSQL
+     * usem um cursor no servidor e respeitem o {@code fetchSize}.
+     *
+     * @param format Formato da exportação ("ndjson" ou "csv").
+     * @param out    Fluxo de saída.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    @Transactional(readOnly = true)
+    public void export(String format, OutputStream out) throws IOException {
+        checkFormat(format);
+        ProductWriter writer = CSV.equals(format) ? new CsvWriter(out) : new NdjsonWriter(out);
+        writer.start();
+        try {
+            ProductRowGrouper handler = new ProductRowGrouper(true) {
+
+                @Override
+                protected void write(ProductDTO product) throws IOException {
+                    writer.write(product);
+                }
+            };
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, handler);
+            handler.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private interface ProductWriter {
+
+        void start() throws IOException;
+
+        void write(ProductDTO product) throws IOException;
+    }
+
+    private class NdjsonWriter implements ProductWriter {
+
+        private final OutputStream out;
+
+        NdjsonWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ProductDTO product) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(product));
+            out.write('\n');
+        }
+    }
+
+    private static class CsvWriter implements ProductWriter {
+
+        private final OutputStream out;
+
+        CsvWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start() throws IOException {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void write(ProductDTO product) throws IOException {
+            StringBuilder ids = new StringBuilder();
+            StringBuilder names = new StringBuilder();
+            for (CategoryDTO cat : product.getCategories()) {
+                if (ids.length() > 0) {
+                    ids.append('|');
+                    names.append('|');
+                }
+                ids.append(cat.getId());
+                names.append(cat.getName());
+            }
+            StringBuilder line = new StringBuilder();
+            line.append(product.getId()).append(',')
+                    .append(escape(product.getName())).append(',')
+                    .append(escape(product.getDescription())).append(',')
+                    .append(product.getPrice() == null ? "" : product.getPrice()).append(',')
+                    .append(escape(product.getImgUrl())).append(',')
+                    .append(product.getDate() == null ? "" : product.getDate()).append(',')
+                    .append(ids).append(',')
+                    .append(escape(names.toString())).append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
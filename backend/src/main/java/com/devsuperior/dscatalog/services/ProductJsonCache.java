@@ -0,0 +1,240 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.offheap.OffHeapSlabStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache da representação JSON final de cada produto, em bytes UTF-8 e, opcionalmente, já comprimida em gzip.
+ *
+ * <p>Um acerto é escrito diretamente na resposta, sem montar o {@link ProductDTO} nem passar pelo Jackson.
+ * Cada entrada guarda a versão do produto e só é usada quando ela coincide com a versão atual, de modo que
+ * uma entrada antiga nunca é servida. O tamanho do cache é contado em bytes, limitado por
+ * {@code dscatalog.json-cache.max-bytes}; as estatísticas são publicadas em {@code /actuator/metrics/cache.*}
+ * com o nome {@code product-json}. As entradas são removidas pelo {@link ProductCacheInvalidator}.</p>
+ *
+ * <p>O cache no heap é apenas a camada quente. Abaixo dele fica um {@link OffHeapSlabStore}, limitado por
+ * {@code dscatalog.json-cache.off-heap-bytes}, que pode guardar o catálogo inteiro fora do heap sem afetar as
+ * pausas do coletor de lixo; um acerto nessa camada é promovido ao heap. Com {@code off-heap-bytes=0} a camada
+ * fica desativada. A memória direta da JVM ({@code -XX:MaxDirectMemorySize}) deve comportar esse limite.</p>
+ */
+@Component
+public class ProductJsonCache {
+
+    // estimativa do custo fixo de cada entrada (objetos, cabeçalhos de arrays e nó do cache)
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private Cache<Long, Entry> cache;
+    private OffHeapSlabStore offHeap;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dscatalog.json-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${dscatalog.json-cache.off-heap-bytes:0}")
+    private long offHeapBytes;
+
+    @Value("${dscatalog.json-cache.slab-bytes:16777216}")
+    private int slabBytes;
+
+    @Value("${dscatalog.json-cache.gzip:true}")
+    private boolean gzip;
+
+    @Value("${dscatalog.json-cache.gzip-min-bytes:512}")
+    private int gzipMinBytes;
+
+    @PostConstruct
+    void start() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Entry e) -> e.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-json");
+        if (offHeapBytes > 0) {
+            offHeap = new OffHeapSlabStore(offHeapBytes, slabBytes);
+            Gauge.builder("dscatalog.json-cache.off-heap.allocated", offHeap, OffHeapSlabStore::allocatedBytes)
+                    .baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("dscatalog.json-cache.off-heap.size", offHeap, OffHeapSlabStore::size).register(meterRegistry);
+            FunctionCounter.builder("dscatalog.json-cache.off-heap.gets", offHeap, OffHeapSlabStore::hitCount)
+                    .tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("dscatalog.json-cache.off-heap.gets", offHeap, OffHeapSlabStore::missCount)
+                    .tag("result", "miss").register(meterRegistry);
+            FunctionCounter.builder("dscatalog.json-cache.off-heap.evictions", offHeap, OffHeapSlabStore::evictionCount)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Retorna a representação em cache do produto, se ela corresponder à versão informada.
+     * Procura primeiro no heap e depois fora dele.
+     *
+     * @param id      ID do produto.
+     * @param version Versão atual do produto.
+     * @return A entrada, ou {@code null} se não houver entrada para essa versão.
+     */
+    public Entry get(Long id, Long version) {
+        Entry entry = cache.getIfPresent(id);
+        if (entry != null && entry.version.equals(version)) {
+            return entry;
+        }
+        if (offHeap == null) {
+            return null;
+        }
+        byte[] payload = offHeap.get(id, version);
+        if (payload == null) {
+            return null;
+        }
+        entry = decode(version, payload);
+        cache.put(id, entry);
+        return entry;
+    }
+
+    /**
+     * Serializa o produto e guarda o resultado no cache.
+     *
+     * @param dto Produto a ser serializado.
+     * @return A entrada criada.
+     */
+    public Entry put(ProductDTO dto) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        Entry entry = new Entry(dto.getVersion(), json, gzip && json.length >= gzipMinBytes ? compress(json) : null);
+        cache.put(dto.getId(), entry);
+        if (offHeap != null) {
+            offHeap.put(dto.getId(), entry.version, encode(entry));
+        }
+        return entry;
+    }
+
+    /**
+     * Remove a entrada do produto.
+     *
+     * @param id ID do produto.
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        if (offHeap != null) {
+            offHeap.remove(id);
+        }
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (offHeap != null) {
+            offHeap.clear();
+        }
+    }
+
+    /**
+     * Formato fora do heap: tamanho do JSON (4 bytes), JSON e, no restante, o gzip (se houver).
+     */
+    private static byte[] encode(Entry entry) {
+        int gzipLength = entry.gzip == null ? 0 : entry.gzip.length;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + entry.json.length + gzipLength);
+        buffer.putInt(entry.json.length).put(entry.json);
+        if (entry.gzip != null) {
+            buffer.put(entry.gzip);
+        }
+        return buffer.array();
+    }
+
+    private static Entry decode(Long version, byte[] payload) {
+        int jsonLength = ByteBuffer.wrap(payload).getInt();
+        byte[] json = Arrays.copyOfRange(payload, 4, 4 + jsonLength);
+        byte[] gzip = payload.length > 4 + jsonLength ? Arrays.copyOfRange(payload, 4 + jsonLength, payload.length) : null;
+        return new Entry(version, json, gzip);
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        // só vale a pena guardar a versão comprimida se ela for realmente menor
+        return compressed.length < json.length ? compressed : null;
+    }
+
+    /**
+     * Representação serializada de uma versão de um produto.
+     */
+    public static final class Entry {
+
+        private final Long version;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        Entry(Long version, byte[] json, byte[] gzip) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        /**
+         * Retorna a versão do produto serializado.
+         *
+         * @return Versão do produto.
+         */
+        public Long getVersion() {
+            return version;
+        }
+
+        /**
+         * Retorna o JSON do produto.
+         *
+         * @return Bytes UTF-8 do JSON.
+         */
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * Retorna o JSON do produto comprimido em gzip.
+         *
+         * @return Bytes comprimidos, ou {@code null} se a compressão estiver desativada ou não compensar.
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        int weight() {
+            long weight = ENTRY_OVERHEAD + json.length + (gzip == null ? 0 : gzip.length);
+            return (int) Math.min(weight, Integer.MAX_VALUE);
+        }
+    }
+}
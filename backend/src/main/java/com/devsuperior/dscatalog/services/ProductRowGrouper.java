@@ -0,0 +1,104 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+/**
+ * Agrupa as linhas consecutivas de um mesmo produto (uma por categoria) em um {@link ProductDTO} completo
+ * e o entrega a {@link #write(ProductDTO)}. Usado pela exportação e pelos snapshots do catálogo.
+ *
+ * <p>A consulta deve estar ordenada por produto e trazer as colunas {@code id}, {@code name},
+ * {@code description}, {@code price}, {@code img_url}, {@code date} e {@code category_id}, além de
+ * {@code category_name} quando os nomes das categorias forem pedidos. Depois da última linha,
+ * {@link #finish()} entrega o último produto.</p>
+ */
+abstract class ProductRowGrouper implements RowCallbackHandler {
+
+    private final boolean categoryNames;
+    private ProductDTO current;
+
+    /**
+     * Cria o agrupador.
+     *
+     * @param categoryNames Se a consulta traz a coluna {@code category_name}.
+     */
+    protected ProductRowGrouper(boolean categoryNames) {
+        this.categoryNames = categoryNames;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        long id = rs.getLong("id");
+        if (current == null || current.getId() != id) {
+            finish();
+            Instant date = instantOf(rs, "date");
+            // wasNull() refere-se à última coluna lida, por isso é chamado logo após getDouble
+            Double price = rs.getDouble("price");
+            if (rs.wasNull()) {
+                price = null;
+            }
+            current = new ProductDTO(id, rs.getString("name"), rs.getString("description"),
+                    price, rs.getString("img_url"), date);
+            readProduct(current, rs);
+        }
+        long categoryId = rs.getLong("category_id");
+        if (!rs.wasNull()) {
+            current.getCategories().add(new CategoryDTO(categoryId,
+                    categoryNames ? rs.getString("category_name") : null));
+        }
+    }
+
+    /**
+     * Entrega o produto em andamento, se houver.
+     *
+     * @throws UncheckedIOException Se {@link #write(ProductDTO)} falhar.
+     */
+    void finish() {
+        if (current != null) {
+            try {
+                write(current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = null;
+        }
+    }
+
+    /**
+     * Lê colunas adicionais da primeira linha de cada produto. Por padrão, não faz nada.
+     *
+     * @param product Produto recém-criado.
+     * @param rs      Linha atual.
+     * @throws SQLException Se a leitura falhar.
+     */
+    protected void readProduct(ProductDTO product, ResultSet rs) throws SQLException {
+    }
+
+    /**
+     * Recebe cada produto completo, com todas as suas categorias.
+     *
+     * @param product Produto.
+     * @throws IOException Se a escrita falhar.
+     */
+    protected abstract void write(ProductDTO product) throws IOException;
+
+    static Long longOf(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static Instant instantOf(ResultSet rs, String column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value == null ? null : value.toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,128 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductSearchHitDTO;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
+
+/**
+ * Serviço responsável pela busca textual de produtos.
+ * Mantém um {@link ProductSearchIndex} em memória, construído na inicialização da aplicação
+ * e atualizado após o commit de cada alteração feita pelo {@link ProductService}.
+ *
+ * <p>A reconstrução monta um índice novo enquanto as buscas continuam no atual, e o troca de uma vez
+ * ao final. As alterações confirmadas durante a leitura do banco são aplicadas ao índice atual e
+ * guardadas, para serem reaplicadas ao novo índice antes da troca; assim nenhuma delas se perde,
+ * mesmo que a leitura não a tenha visto.</p>
+ */
+@Service
+public class ProductSearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private volatile ProductSearchIndex index = new ProductSearchIndex();
+    private List<Consumer<ProductSearchIndex>> pending;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Busca produtos pelo nome e pela descrição, sem acessar o banco de dados.
+     *
+     * @param query Texto livre da consulta.
+     * @param limit Quantidade máxima de resultados (limitada a 100).
+     * @return Lista de resultados ordenada por relevância.
+     */
+    public List<ProductSearchHitDTO> search(String query, int limit) {
+        return index.search(query, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Reconstrói o índice a partir de todos os produtos do banco de dados, lendo apenas as colunas
+     * indexadas. Executado automaticamente quando a aplicação termina de inicializar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        ProductSearchIndex fresh = new ProductSearchIndex();
+        try {
+            jdbcTemplate.query("SELECT id, name, description, price, img_url FROM tb_product",
+                    (RowCallbackHandler) rs -> {
+                        // wasNull() refere-se à última coluna lida, por isso é chamado logo após getDouble
+                        Double price = rs.getDouble("price");
+                        if (rs.wasNull()) {
+                            price = null;
+                        }
+                        fresh.index(rs.getLong("id"), rs.getString("name"), rs.getString("description"),
+                                price, rs.getString("img_url"));
+                    });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (Consumer<ProductSearchIndex> change : pending) {
+                change.accept(fresh);
+            }
+            pending = null;
+            index = fresh;
+        }
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de produto.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ChangeType.DELETE) {
+            apply(target -> target.remove(event.getId()));
+        } else {
+            ProductDTO p = event.getProduct();
+            apply(target -> target.index(p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getImgUrl()));
+        }
+    }
+
+    /**
+     * Indexa os produtos de um bloco da importação em lote após o commit.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        apply(target -> {
+            for (ProductDTO p : event.getProducts()) {
+                target.index(p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getImgUrl());
+            }
+        });
+    }
+
+    /**
+     * Aplica a alteração ao índice atual e, durante uma reconstrução, a guarda para o novo índice.
+     */
+    private synchronized void apply(Consumer<ProductSearchIndex> change) {
+        change.accept(index);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+}
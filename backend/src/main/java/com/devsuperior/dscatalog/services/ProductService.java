@@ -1,22 +1,45 @@
 package com.devsuperior.dscatalog.services;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devsuperior.dscatalog.config.CacheConfig;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.dto.MultiGetDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductSummaryDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.repositories.projections.VersionProjection;
+import com.devsuperior.dscatalog.services.coalescing.Coalesced;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidFieldException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.pagination.KeysetCursor;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -27,38 +50,231 @@ import jakarta.persistence.EntityNotFoundException;
 @Service
 public class ProductService {
 
+    private static final Set<String> KEYSET_ORDERS = Set.of("id", "name");
+
+    public static final int MAX_IDS = 100;
+
     @Autowired
     private ProductRepository repository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    /**
+     * Retorna uma página de produtos resumidos (sem a descrição), com os IDs de suas categorias.
+     * Os resumos são montados diretamente pela consulta, sem carregar entidades, e os IDs de
+     * categorias da página inteira são buscados em uma única consulta adicional.
+     *
+     * @param pageable Objeto que contém informações de paginação e ordenação.
+     * @return Uma página de DTOs resumidos de produto.
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> findAllPaged(Pageable pageable) {
+        Page<ProductSummaryDTO> page = repository.findSummaries(pageable);
+        fillCategoryIds(page.getContent());
+        return page;
+    }
+
     /**
-     * Retorna uma página de produtos paginados.
+     * Retorna uma página de produtos com suas categorias, em duas consultas:
+     * a primeira seleciona apenas os IDs da página e a segunda carrega esses produtos
+     * com as categorias via fetch join, evitando uma consulta de categorias por produto.
      *
      * @param pageable Objeto que contém informações de paginação e ordenação.
-     * @return Uma página de DTOs de produto.
+     * @return Uma página de DTOs de produto, incluindo suas categorias.
      */
+    @Coalesced
     @Transactional(readOnly = true)
-    public Page<ProductDTO> findAllPaged(Pageable pageable) {
-        Page<Product> list = repository.findAll(pageable);
-        return list.map(x -> new ProductDTO(x));
+    public Page<ProductDTO> findAllPagedWithCategories(Pageable pageable) {
+        Page<Long> ids = repository.findPageIds(pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, ids.getTotalElements());
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product p : repository.findWithCategoriesByIdIn(ids.getContent())) {
+            products.put(p.getId(), p);
+        }
+        List<ProductDTO> list = new ArrayList<>();
+        for (Long id : ids.getContent()) {
+            Product p = products.get(id);
+            if (p != null) {
+                list.add(new ProductDTO(p, p.getCategories()));
+            }
+        }
+        return new PageImpl<>(list, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Retorna uma fatia de produtos paginada por cursor (keyset), sem consulta de contagem.
+     * O custo da consulta é o mesmo em qualquer profundidade da listagem.
+     *
+     * @param after   Token da última fatia recebida (vazio para a primeira fatia).
+     * @param size    Quantidade de produtos da fatia.
+     * @param orderBy Campo de ordenação ("id" ou "name").
+     * @return Uma fatia de DTOs resumidos de produto com o token da próxima fatia.
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorSliceDTO<ProductSummaryDTO> findAllAfter(String after, int size, String orderBy) {
+        KeysetCursor cursor = KeysetCursor.decode(after, orderBy, KEYSET_ORDERS);
+        List<ProductSummaryDTO> list = "name".equals(orderBy)
+                ? repository.findNextSummariesByName(cursor.getValue(), cursor.getId(), KeysetCursor.limit(size))
+                : repository.findNextSummariesById(cursor.getId(), KeysetCursor.limit(size));
+        CursorSliceDTO<ProductSummaryDTO> slice = KeysetCursor.slice(list, size, x -> x,
+                x -> KeysetCursor.of(orderBy, x.getId(), x.getName()));
+        fillCategoryIds(slice.getContent());
+        return slice;
+    }
+
+    /**
+     * Retorna os resumos dos produtos informados, na mesma ordem dos IDs.
+     * IDs de produtos inexistentes são ignorados.
+     *
+     * @param ids IDs dos produtos.
+     * @return Lista de DTOs resumidos de produto.
+     */
+    @Coalesced
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> findSummaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductSummaryDTO> byId = new HashMap<>();
+        for (ProductSummaryDTO dto : repository.findSummariesByIdIn(ids)) {
+            byId.put(dto.getId(), dto);
+        }
+        List<ProductSummaryDTO> list = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            ProductSummaryDTO dto = byId.get(id);
+            if (dto != null) {
+                list.add(dto);
+            }
+        }
+        fillCategoryIds(list);
+        return list;
+    }
+
+    /**
+     * Preenche os IDs de categorias dos resumos informados com uma única consulta à tabela de associação.
+     *
+     * @param list Resumos de produtos a serem preenchidos.
+     */
+    private void fillCategoryIds(List<ProductSummaryDTO> list) {
+        if (list.isEmpty()) {
+            return;
+        }
+        Map<Long, ProductSummaryDTO> byId = new HashMap<>();
+        for (ProductSummaryDTO dto : list) {
+            byId.put(dto.getId(), dto);
+        }
+        for (ProductCategoryProjection row : repository.findCategoryIdsByProductIdIn(new ArrayList<>(byId.keySet()))) {
+            byId.get(row.getProductId()).getCategoryIds().add(row.getCategoryId());
+        }
+    }
+
+    /**
+     * Retorna apenas a versão e a data da última alteração de um produto,
+     * usadas para responder requisições condicionais sem carregar o produto.
+     * Lê do {@link CatalogSnapshotService} quando possível; não abre transação.
+     *
+     * @param id O ID do produto.
+     * @return A projeção de versão do produto.
+     * @throws ResourceNotFoundException Se o produto não for encontrado.
+     */
+    @Coalesced
+    public VersionProjection findVersion(Long id) {
+        VersionProjection version = snapshotService.findProductVersion(id);
+        if (version != null) {
+            return version;
+        }
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Entidade não encontrada!"));
     }
 
     /**
      * Retorna um produto pelo seu ID.
+     * O resultado fica no cache {@link CacheConfig#PRODUCTS}, invalidado após o commit de alterações
+     * do produto ou de categorias pelo {@link ProductCacheInvalidator}. Em caso de falta no cache, o produto
+     * é lido do {@link CatalogSnapshotService} quando possível e, senão, do banco em uma única consulta com
+     * fetch join das categorias, sem transação.
      *
      * @param id O ID do produto a ser retornado.
      * @return O DTO do produto encontrado, incluindo suas categorias.
      * @throws ResourceNotFoundException Se o produto não for encontrado.
      */
-    @Transactional(readOnly = true)
+    @Coalesced
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, sync = true)
     public ProductDTO findById(Long id) {
-        Optional<Product> obj = repository.findById(id);
-        Product entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entidade não encontrada!"));
+        ProductDTO dto = snapshotService.findProduct(id);
+        if (dto != null) {
+            return dto;
+        }
+        List<Product> list = repository.findWithCategoriesByIdIn(List.of(id));
+        if (list.isEmpty()) {
+            throw new ResourceNotFoundException("Entidade não encontrada!");
+        }
+        Product entity = list.get(0);
         return new ProductDTO(entity, entity.getCategories());
     }
+
+    /**
+     * Remove um produto do cache {@link CacheConfig#PRODUCTS}, para que a próxima chamada a
+     * {@link #findById(Long)} o recarregue. Usado quando a versão em cache é diferente da versão atual.
+     *
+     * @param id ID do produto.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS)
+    public void evictCached(Long id) {
+    }
     
+    /**
+     * Retorna vários produtos, com suas categorias, pelos seus IDs.
+     * Os produtos são procurados primeiro no cache {@link CacheConfig#PRODUCTS}; os demais são carregados
+     * em uma única consulta com fetch join das categorias e adicionados ao cache. Quando todos estão
+     * no cache, nenhuma transação é aberta.
+     *
+     * @param ids IDs dos produtos, na ordem desejada (no máximo {@value #MAX_IDS}).
+     * @return Os produtos na ordem dos IDs, com os IDs inexistentes marcados.
+     * @throws BadRequestException Se a lista de IDs estiver vazia ou for grande demais.
+     */
+    @Coalesced
+    public MultiGetDTO<ProductDTO> findByIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new BadRequestException("Informe entre 1 e " + MAX_IDS + " IDs");
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Map<Long, ProductDTO> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            ProductDTO dto = cache == null ? null : cache.get(id, ProductDTO.class);
+            if (dto != null) {
+                found.put(id, dto);
+            } else if (!found.containsKey(id) && !misses.contains(id)) {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Product p : repository.findWithCategoriesByIdIn(misses)) {
+                ProductDTO dto = new ProductDTO(p, p.getCategories());
+                found.put(p.getId(), dto);
+                if (cache != null) {
+                    cache.putIfAbsent(p.getId(), dto);
+                }
+            }
+        }
+        return new MultiGetDTO<>(ids, found);
+    }
+
     /**
      * Insere um novo produto.
      *
@@ -70,7 +286,9 @@ public class ProductService {
         Product entity = new Product();
         copyDtoToEntity(obj, entity);
         entity = repository.save(entity);
-        return new ProductDTO(entity);
+        ProductDTO dto = new ProductDTO(entity, entity.getCategories());
+        eventPublisher.publishEvent(new ProductChangedEvent(dto.getId(), ChangeType.INSERT, dto));
+        return dto;
     }
 
     /**
@@ -86,8 +304,11 @@ public class ProductService {
         try {
             Product entity = repository.getReferenceById(id);
             copyDtoToEntity(obj, entity);
-            entity = repository.save(entity);
-            return new ProductDTO(entity);
+            // o flush incrementa a versão e atualiza updatedAt antes de montar o DTO
+            entity = repository.saveAndFlush(entity);
+            ProductDTO dto = new ProductDTO(entity, entity.getCategories());
+            eventPublisher.publishEvent(new ProductChangedEvent(id, ChangeType.UPDATE, dto));
+            return dto;
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id " + id + " não encontrado!");
         }
@@ -102,20 +323,28 @@ public class ProductService {
      */
     @Transactional
     public void delete(Long id) {
+        // deleteById não falha para um ID inexistente, e o evento só deve sair após uma exclusão real
+        if (!repository.existsById(id)) {
+            throw new ResourceNotFoundException("Id " + id + " não encontrado!");
+        }
         try {
             repository.deleteById(id);
-        } catch (EntityNotFoundException e) {
-            throw new ResourceNotFoundException("Id " + id + " não encontrado!");
+            // o flush antecipa a violação de integridade para cá, antes de publicar o evento
+            repository.flush();
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Integrity Violation");
         }
+        eventPublisher.publishEvent(new ProductChangedEvent(id, ChangeType.DELETE, null));
     }
 
     /**
      * Copia os dados do DTO para a entidade de produto.
+     * As categorias são resolvidas em uma única consulta e a coleção é atualizada por diferença,
+     * de modo que apenas as associações adicionadas ou removidas geram escrita em {@code tb_product_category}.
      *
      * @param obj O DTO do produto com os dados a serem copiados.
      * @param entity A entidade de produto que receberá os dados do DTO.
+     * @throws InvalidFieldException Se alguma categoria informada não existir.
      */
     private void copyDtoToEntity(ProductDTO obj, Product entity) {
         entity.setName(obj.getName());
@@ -124,10 +353,44 @@ public class ProductService {
         entity.setImgUrl(obj.getImgUrl());
         entity.setPrice(obj.getPrice());
 
-        entity.getCategories().clear();
-        for (CategoryDTO catDto : obj.getCategories()) {
-            Category category = categoryRepository.getOne(catDto.getId());
-            entity.getCategories().add(category);
+        Map<Long, Category> categories = resolveCategories(obj.getCategories());
+        entity.getCategories().removeIf(c -> !categories.containsKey(c.getId()));
+        Set<Long> current = new HashSet<>();
+        for (Category c : entity.getCategories()) {
+            current.add(c.getId());
+        }
+        for (Category c : categories.values()) {
+            if (!current.contains(c.getId())) {
+                entity.getCategories().add(c);
+            }
+        }
+    }
+
+    /**
+     * Carrega as categorias informadas em uma única consulta.
+     *
+     * @param dtos Categorias informadas no DTO do produto.
+     * @return As categorias indexadas pelo ID.
+     * @throws InvalidFieldException Se algum ID for nulo ou não existir.
+     */
+    private Map<Long, Category> resolveCategories(List<CategoryDTO> dtos) {
+        Set<Long> ids = new HashSet<>();
+        for (CategoryDTO catDto : dtos) {
+            if (catDto.getId() == null) {
+                throw new InvalidFieldException("categories", "O ID da categoria é obrigatório");
+            }
+            ids.add(catDto.getId());
+        }
+        Map<Long, Category> categories = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Category c : categoryRepository.findAllById(ids)) {
+                categories.put(c.getId(), c);
+            }
+        }
+        if (categories.size() != ids.size()) {
+            ids.removeAll(categories.keySet());
+            throw new InvalidFieldException("categories", "Categorias não encontradas: " + ids);
         }
+        return categories;
     }
 }
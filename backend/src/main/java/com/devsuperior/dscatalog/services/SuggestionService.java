@@ -0,0 +1,121 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
+import com.devsuperior.dscatalog.entities.CatalogChange;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.devsuperior.dscatalog.services.search.SuggestionTrie;
+
+/**
+ * Serviço de autocompletar nomes de produtos e categorias.
+ * Mantém uma {@link SuggestionTrie} em memória, construída na inicialização da aplicação
+ * e atualizada após o commit de cada alteração de produto ou categoria.
+ */
+@Service
+public class SuggestionService {
+
+    private final SuggestionTrie trie = new SuggestionTrie();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    /**
+     * Retorna as sugestões mais populares para o prefixo informado, sem acessar o banco de dados.
+     *
+     * @param prefix Texto digitado pelo usuário.
+     * @param limit  Quantidade máxima de sugestões (limitada a {@value SuggestionTrie#TOP_K}).
+     * @return Sugestões ordenadas por popularidade.
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.min(limit, SuggestionTrie.TOP_K));
+    }
+
+    /**
+     * Atualiza a popularidade de um produto nas sugestões.
+     *
+     * @param productId ID do produto.
+     * @param weight    Nova popularidade.
+     */
+    public void updateProductWeight(Long productId, long weight) {
+        trie.updateWeight(CatalogChange.PRODUCT, productId, weight);
+    }
+
+    /**
+     * Reconstrói a árvore a partir de todos os produtos e categorias do banco de dados,
+     * usando as visualizações gravadas como popularidade dos produtos.
+     * Executado automaticamente quando a aplicação termina de inicializar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        trie.clear();
+        for (Product p : productRepository.findAll()) {
+            trie.put(CatalogChange.PRODUCT, p.getId(), p.getName());
+            if (p.getViewCount() != null) {
+                trie.updateWeight(CatalogChange.PRODUCT, p.getId(), p.getViewCount());
+            }
+        }
+        for (Category c : categoryRepository.findAll()) {
+            trie.put(CatalogChange.CATEGORY, c.getId(), c.getName());
+        }
+    }
+
+    /**
+     * Atualiza a árvore após o commit de uma alteração de produto.
+     *
+     * @param event Evento publicado pelo {@link ProductService}.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ChangeType.DELETE) {
+            trie.remove(CatalogChange.PRODUCT, event.getId());
+        } else {
+            trie.put(CatalogChange.PRODUCT, event.getId(), event.getProduct().getName());
+        }
+    }
+
+    /**
+     * Acrescenta à árvore os produtos de um bloco da importação em lote após o commit.
+     *
+     * @param event Evento publicado pelo {@link ProductBulkImportService}.
+     */
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        for (ProductDTO p : event.getProducts()) {
+            trie.put(CatalogChange.PRODUCT, p.getId(), p.getName());
+        }
+    }
+
+    /**
+     * Atualiza a árvore após o commit de uma alteração de categoria.
+     *
+     * @param event Evento publicado pelo {@link CategoryService}.
+     */
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getType() == ChangeType.DELETE) {
+            trie.remove(CatalogChange.CATEGORY, event.getId());
+        } else {
+            trie.put(CatalogChange.CATEGORY, event.getId(), event.getCategory().getName());
+        }
+    }
+}
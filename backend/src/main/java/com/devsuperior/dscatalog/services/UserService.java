@@ -1,25 +1,39 @@
 package com.devsuperior.dscatalog.services;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.devsuperior.dscatalog.dto.UserInsertDTO;
 import com.devsuperior.dscatalog.dto.UserUpdateDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
 import com.devsuperior.dscatalog.dto.RoleDTO;
 import com.devsuperior.dscatalog.dto.UserDTO;
 import com.devsuperior.dscatalog.entities.Role;
 import com.devsuperior.dscatalog.entities.User;
 import com.devsuperior.dscatalog.repositories.RoleRepository;
 import com.devsuperior.dscatalog.repositories.UserRepository;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidFieldException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dscatalog.services.pagination.KeysetCursor;
+import com.devsuperior.dscatalog.services.validation.EmailBloomFilter;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -31,8 +45,13 @@ import jakarta.persistence.EntityNotFoundException;
 @Service
 public class UserService {
 
+    private static final Set<String> KEYSET_ORDERS = Set.of("id");
+
+    @Autowired
+    private PasswordHashingService passwordHashing;
+
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PlatformTransactionManager transactionManager;
 
     @Autowired
     private UserRepository repository;
@@ -40,6 +59,12 @@ public class UserService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Retorna uma lista paginada de usuários com base nos parâmetros de paginação fornecidos.
      *
@@ -52,6 +77,21 @@ public class UserService {
         return list.map(x -> new UserDTO(x));
     }
 
+    /**
+     * Retorna uma fatia de usuários paginada por cursor (keyset), sem consulta de contagem.
+     *
+     * @param after Token da última fatia recebida (vazio para a primeira fatia).
+     * @param size  Quantidade de usuários da fatia.
+     * @return Uma fatia de {@link UserDTO} com o token da próxima fatia.
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceDTO<UserDTO> findAllAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after, "id", KEYSET_ORDERS);
+        List<User> list = repository.findNextById(cursor.getId(), KeysetCursor.limit(size));
+        return KeysetCursor.slice(list, size, x -> new UserDTO(x),
+                x -> KeysetCursor.of("id", x.getId(), null));
+    }
+
     /**
      * Busca um usuário pelo seu ID.
      *
@@ -69,17 +109,64 @@ public class UserService {
     /**
      * Insere um novo usuário no sistema.
      * O DTO de inserção inclui uma senha que será criptografada antes de ser salva.
+     * O hash é calculado no {@link PasswordHashingService} antes de abrir a transação,
+     * para que a conexão com o banco não fique presa durante o BCrypt.
      *
      * @param obj O {@link UserInsertDTO} com as informações do novo usuário.
      * @return Um {@link UserDTO} representando o usuário recém-criado.
+     * @throws InvalidFieldException Se o email já estiver cadastrado (inserção concorrente).
+     * @throws ServiceUnavailableException Se o pool de hash de senhas estiver sobrecarregado.
      */
-    @Transactional
     public UserDTO insert(UserInsertDTO obj) {
-        User entity = new User();
-        copyDtoToEntity(obj, entity);
-        entity.setPassword(passwordEncoder.encode(obj.getPassword()));
-        entity = repository.save(entity);
-        return new UserDTO(entity);
+        String password = passwordHashing.encode(obj.getPassword());
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            User entity = new User();
+            copyDtoToEntity(obj, entity);
+            entity.setPassword(password);
+            entity = saveAndFlush(entity);
+            return new UserDTO(entity);
+        });
+    }
+
+    /**
+     * Verifica a senha de um usuário. Um email inexistente passa pelo mesmo BCrypt, contra um hash fixo.
+     * Se o hash armazenado tiver sido gerado com um custo
+     * diferente do configurado, ele é refeito com a senha recebida e gravado, sem que o usuário perceba.
+     *
+     * @param email       Email do usuário.
+     * @param rawPassword Senha em texto puro.
+     * @return O usuário, com seus papéis, se a senha estiver correta; vazio caso contrário.
+     * @throws ServiceUnavailableException Se o pool de hash de senhas estiver sobrecarregado.
+     */
+    public Optional<User> authenticate(String email, String rawPassword) {
+        User entity = repository.findByEmail(email);
+        if (entity == null) {
+            // mesmo custo de BCrypt de um email existente, para não revelar quais emails estão cadastrados
+            passwordHashing.matchesDummy(rawPassword);
+            return Optional.empty();
+        }
+        if (!passwordHashing.matches(rawPassword, entity.getPassword())) {
+            return Optional.empty();
+        }
+        if (passwordHashing.needsRehash(entity.getPassword())) {
+            String oldPassword = entity.getPassword();
+            String newPassword = passwordHashing.encode(rawPassword);
+            // a troca só acontece se a senha não tiver sido alterada desde a leitura
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    repository.updatePassword(entity.getId(), oldPassword, newPassword));
+            entity.setPassword(newPassword);
+        }
+        return Optional.of(entity);
+    }
+
+    /**
+     * Retorna a geração atual dos tokens do usuário.
+     *
+     * @param id ID do usuário.
+     * @return A geração dos tokens, ou vazio se o usuário não existir.
+     */
+    public Optional<Long> findTokenVersion(Long id) {
+        return repository.findTokenVersion(id);
     }
 
     /**
@@ -89,13 +176,17 @@ public class UserService {
      * @param obj O {@link UserDTO} contendo os novos dados do usuário.
      * @return O {@link UserDTO} representando o usuário atualizado.
      * @throws ResourceNotFoundException Se o usuário com o ID fornecido não for encontrado.
+     * @throws InvalidFieldException Se o email já pertencer a outro usuário (atualização concorrente).
      */
     @Transactional
     public UserDTO update(Long id, UserUpdateDTO obj) {
         try {
             User entity = repository.getReferenceById(id);
             copyDtoToEntity(obj, entity);
-            entity = repository.save(entity);
+            // revoga os tokens já emitidos, que carregam os dados e papéis anteriores
+            entity.setTokenVersion(entity.getTokenVersion() + 1);
+            entity = saveAndFlush(entity);
+            eventPublisher.publishEvent(new UserChangedEvent(id, ChangeType.UPDATE));
             return new UserDTO(entity);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id " + id + " não encontrado!");
@@ -113,6 +204,7 @@ public class UserService {
     public void delete(Long id) {
         try {
             repository.deleteById(id);
+            eventPublisher.publishEvent(new UserChangedEvent(id, ChangeType.DELETE));
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id " + id + " não encontrado!");
         } catch (DataIntegrityViolationException e) {
@@ -120,21 +212,61 @@ public class UserService {
         }
     }
 
+    /**
+     * Grava o usuário imediatamente, para que uma violação do índice único de email seja detectada aqui,
+     * e registra o email no {@link EmailBloomFilter} antes do commit.
+     */
+    private User saveAndFlush(User entity) {
+        try {
+            entity = repository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidFieldException("email", "Email já existe");
+        }
+        emailFilter.add(entity.getEmail());
+        return entity;
+    }
+
     /**
      * Copia os dados de um {@link UserDTO} para uma entidade {@link User}.
+     * Os papéis são resolvidos em uma única consulta e a coleção é atualizada por diferença,
+     * de modo que apenas as associações adicionadas ou removidas geram escrita em {@code tb_user_role}.
      *
      * @param obj O DTO contendo os dados do usuário.
      * @param entity A entidade de usuário que receberá os dados copiados.
+     * @throws InvalidFieldException Se algum papel informado não existir.
      */
     private void copyDtoToEntity(UserDTO obj, User entity) {
         entity.setFirstName(obj.getFirstName());
         entity.setLastName(obj.getLastName());
         entity.setEmail(obj.getEmail());
 
-        entity.getRoles().clear();
+        Set<Long> ids = new HashSet<>();
         for (RoleDTO roleDto : obj.getRoles()) {
-            Role role = roleRepository.getOne(roleDto.getId());
-            entity.getRoles().add(role);
+            if (roleDto.getId() == null) {
+                throw new InvalidFieldException("roles", "O ID do papel é obrigatório");
+            }
+            ids.add(roleDto.getId());
+        }
+        Map<Long, Role> roles = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Role role : roleRepository.findAllById(ids)) {
+                roles.put(role.getId(), role);
+            }
+        }
+        if (roles.size() != ids.size()) {
+            ids.removeAll(roles.keySet());
+            throw new InvalidFieldException("roles", "Papéis não encontrados: " + ids);
+        }
+
+        entity.getRoles().removeIf(r -> !roles.containsKey(r.getId()));
+        Set<Long> current = new HashSet<>();
+        for (Role r : entity.getRoles()) {
+            current.add(r.getId());
+        }
+        for (Role r : roles.values()) {
+            if (!current.contains(r.getId())) {
+                entity.getRoles().add(r);
+            }
         }
     }
 }
@@ -0,0 +1,28 @@
+package com.devsuperior.dscatalog.services.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método de leitura cujas chamadas concorrentes com os mesmos argumentos devem compartilhar
+ * uma única execução (single-flight), aplicada pelo {@link CoalescingAspect}.
+ *
+ * <p>Todos os chamadores recebem a mesma instância de retorno, que deve ser tratada como somente-leitura.
+ * Não use em métodos com efeitos colaterais.</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    /**
+     * Tempo máximo, em milissegundos, que um chamador espera pela execução em andamento.
+     * Um valor negativo usa {@code dscatalog.coalescing.timeout-ms}.
+     *
+     * @return Tempo máximo de espera.
+     */
+    long timeoutMs() default -1;
+}
@@ -0,0 +1,182 @@
+package com.devsuperior.dscatalog.services.coalescing;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsImportedEvent;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Aspecto que aplica o {@link Coalesced}: a primeira chamada com um dado método e argumentos executa
+ * normalmente, e as chamadas concorrentes idênticas aguardam o mesmo resultado (ou a mesma exceção),
+ * sem abrir transação nem consultar o banco.
+ *
+ * <p>Executa antes dos interceptadores de cache e transação, de modo que as chamadas que aguardam não
+ * ocupam conexões. Chamadas feitas dentro de uma transação existente não são agrupadas, pois podem
+ * depender de alterações ainda não confirmadas.</p>
+ *
+ * <p>A chave inclui uma geração de escrita, incrementada após o commit de qualquer alteração de produto
+ * ou categoria. Assim, uma chamada iniciada depois de um commit nunca aguarda uma execução iniciada antes
+ * dele, que poderia devolver o estado anterior à alteração.</p>
+ *
+ * <p>Publica no Actuator o contador {@code dscatalog.coalescing.calls}, com o método e o resultado:
+ * {@code leader} (executou), {@code joined} (chamada ao banco economizada) e {@code timeout}.</p>
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class CoalescingAspect {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dscatalog.coalescing.timeout-ms:5000}")
+    private long defaultTimeoutMillis;
+
+    @PostConstruct
+    void start() {
+        meterRegistry.gauge("dscatalog.coalescing.in-flight", inFlight, ConcurrentHashMap::size);
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint pjp, Coalesced coalesced) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return pjp.proceed();
+        }
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Key key = new Key(generation.get(), method, pjp.getArgs());
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing == null) {
+            count(method, "leader");
+            try {
+                Object result = pjp.proceed();
+                mine.complete(result);
+                return result;
+            } catch (Throwable e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        long timeout = coalesced.timeoutMs() >= 0 ? coalesced.timeoutMs() : defaultTimeoutMillis;
+        try {
+            Object result = existing.get(timeout, TimeUnit.MILLISECONDS);
+            count(method, "joined");
+            return result;
+        } catch (ExecutionException e) {
+            count(method, "joined");
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            count(method, "timeout");
+            throw new ServiceUnavailableException("Tempo esgotado aguardando a consulta em andamento. Tente novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Consulta interrompida");
+        }
+    }
+
+    /**
+     * Inicia uma nova geração após o commit de uma alteração de produto. Executa antes dos demais ouvintes,
+     * para que as leituras disparadas por eles já usem a nova geração.
+     *
+     * @param event Evento publicado pelo {@link com.devsuperior.dscatalog.services.ProductService}.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Inicia uma nova geração após o commit de um bloco da importação em lote.
+     *
+     * @param event Evento publicado pelo {@link com.devsuperior.dscatalog.services.ProductBulkImportService}.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Inicia uma nova geração após o commit de uma alteração de categoria. Executa antes dos demais ouvintes,
+     * para que as leituras disparadas por eles já usem a nova geração.
+     *
+     * @param event Evento publicado pelo {@link com.devsuperior.dscatalog.services.CategoryService}.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private void count(Method method, String result) {
+        meterRegistry.counter("dscatalog.coalescing.calls",
+                "method", method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                "result", result).increment();
+    }
+
+    /**
+     * Chave de agrupamento: a geração de escrita, o método e seus argumentos.
+     */
+    private static final class Key {
+
+        private final long generation;
+        private final Method method;
+        private final Object[] args;
+        private final int hash;
+
+        Key(long generation, Method method, Object[] args) {
+            this.generation = generation;
+            this.method = method;
+            this.args = args;
+            this.hash = 31 * (31 * Long.hashCode(generation) + method.hashCode()) + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key other))
+                return false;
+            return hash == other.hash && generation == other.generation && Objects.equals(method, other.method)
+                    && Arrays.deepEquals(args, other.args);
+        }
+    }
+}
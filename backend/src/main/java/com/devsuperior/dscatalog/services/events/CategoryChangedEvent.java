@@ -0,0 +1,81 @@
+package com.devsuperior.dscatalog.services.events;
+
+import java.util.List;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+
+/**
+ * Evento publicado pelo {@link com.devsuperior.dscatalog.services.CategoryService} sempre que uma categoria
+ * é inserida, atualizada ou removida.
+ * Os ouvintes devem consumi-lo com {@code @TransactionalEventListener} para reagir somente após o commit,
+ * exceto o {@link com.devsuperior.dscatalog.services.CatalogChangeLogService}, que grava na própria transação.
+ */
+public class CategoryChangedEvent {
+
+    private final Long id;
+    private final ChangeType type;
+    private final CategoryDTO category;
+    private final List<Long> productIds;
+
+    /**
+     * Construtor que inicializa o evento.
+     *
+     * @param id       ID da categoria alterada.
+     * @param type     Tipo da alteração.
+     * @param category Estado da categoria após a alteração ({@code null} quando removida).
+     */
+    public CategoryChangedEvent(Long id, ChangeType type, CategoryDTO category) {
+        this(id, type, category, List.of());
+    }
+
+    /**
+     * Construtor que inicializa o evento com os produtos cuja versão foi incrementada pela alteração.
+     *
+     * @param id         ID da categoria alterada.
+     * @param type       Tipo da alteração.
+     * @param category   Estado da categoria após a alteração ({@code null} quando removida).
+     * @param productIds IDs dos produtos da categoria que tiveram a versão incrementada.
+     */
+    public CategoryChangedEvent(Long id, ChangeType type, CategoryDTO category, List<Long> productIds) {
+        this.id = id;
+        this.type = type;
+        this.category = category;
+        this.productIds = productIds;
+    }
+
+    /**
+     * Retorna o ID da categoria alterada.
+     *
+     * @return ID da categoria.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o tipo da alteração.
+     *
+     * @return Tipo da alteração.
+     */
+    public ChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Retorna o estado da categoria após a alteração.
+     *
+     * @return DTO da categoria, ou {@code null} se a categoria foi removida.
+     */
+    public CategoryDTO getCategory() {
+        return category;
+    }
+
+    /**
+     * Retorna os produtos da categoria que tiveram a versão incrementada na mesma transação.
+     *
+     * @return IDs dos produtos (vazio quando nenhum produto foi alterado).
+     */
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+}
@@ -0,0 +1,10 @@
+package com.devsuperior.dscatalog.services.events;
+
+/**
+ * Tipos de alteração que podem ocorrer sobre uma entidade do catálogo.
+ */
+public enum ChangeType {
+    INSERT,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,56 @@
+package com.devsuperior.dscatalog.services.events;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+/**
+ * Evento publicado pelo {@link com.devsuperior.dscatalog.services.ProductService} sempre que um produto
+ * é inserido, atualizado ou removido.
+ * Os ouvintes devem consumi-lo com {@code @TransactionalEventListener} para reagir somente após o commit,
+ * exceto o {@link com.devsuperior.dscatalog.services.CatalogChangeLogService}, que grava na própria transação.
+ */
+public class ProductChangedEvent {
+
+    private final Long id;
+    private final ChangeType type;
+    private final ProductDTO product;
+
+    /**
+     * Construtor que inicializa o evento.
+     *
+     * @param id      ID do produto alterado.
+     * @param type    Tipo da alteração.
+     * @param product Estado do produto após a alteração ({@code null} quando removido).
+     */
+    public ProductChangedEvent(Long id, ChangeType type, ProductDTO product) {
+        this.id = id;
+        this.type = type;
+        this.product = product;
+    }
+
+    /**
+     * Retorna o ID do produto alterado.
+     *
+     * @return ID do produto.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o tipo da alteração.
+     *
+     * @return Tipo da alteração.
+     */
+    public ChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Retorna o estado do produto após a alteração.
+     *
+     * @return DTO do produto, ou {@code null} se o produto foi removido.
+     */
+    public ProductDTO getProduct() {
+        return product;
+    }
+}
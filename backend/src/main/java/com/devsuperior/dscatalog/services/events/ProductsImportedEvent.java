@@ -0,0 +1,36 @@
+package com.devsuperior.dscatalog.services.events;
+
+import java.util.List;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+/**
+ * Evento publicado pelo {@link com.devsuperior.dscatalog.services.ProductBulkImportService} uma vez por bloco
+ * confirmado, com todos os produtos inseridos no bloco. Equivale a um {@link ProductChangedEvent} do tipo
+ * {@link ChangeType#INSERT} para cada produto, mas permite que os ouvintes atualizem a versão do catálogo,
+ * notifiquem os assinantes e reconstruam suas estruturas uma única vez por bloco.
+ * Os ouvintes devem consumi-lo com {@code @TransactionalEventListener}, exceto o
+ * {@link com.devsuperior.dscatalog.services.CatalogChangeLogService}, que grava na própria transação.
+ */
+public class ProductsImportedEvent {
+
+    private final List<ProductDTO> products;
+
+    /**
+     * Construtor que inicializa o evento.
+     *
+     * @param products Produtos inseridos no bloco.
+     */
+    public ProductsImportedEvent(List<ProductDTO> products) {
+        this.products = products;
+    }
+
+    /**
+     * Retorna os produtos inseridos no bloco.
+     *
+     * @return DTOs dos produtos, na ordem da importação.
+     */
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+}
@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.services.events;
+
+/**
+ * Evento publicado pelo {@link com.devsuperior.dscatalog.services.UserService} sempre que um usuário
+ * é atualizado ou removido.
+ * Os ouvintes devem consumi-lo com {@code @TransactionalEventListener} para reagir somente após o commit.
+ */
+public class UserChangedEvent {
+
+    private final Long id;
+    private final ChangeType type;
+
+    /**
+     * Construtor que inicializa o evento.
+     *
+     * @param id   ID do usuário alterado.
+     * @param type Tipo da alteração.
+     */
+    public UserChangedEvent(Long id, ChangeType type) {
+        this.id = id;
+        this.type = type;
+    }
+
+    /**
+     * Retorna o ID do usuário alterado.
+     *
+     * @return ID do usuário.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o tipo da alteração.
+     *
+     * @return Tipo da alteração.
+     */
+    public ChangeType getType() {
+        return type;
+    }
+}
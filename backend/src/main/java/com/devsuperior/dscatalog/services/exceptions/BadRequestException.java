@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+/**
+ * Exceção personalizada lançada quando os parâmetros de uma requisição são inválidos.
+ * 
+ * Esta exceção estende RuntimeException, permitindo que seja usada em transações
+ * sem a necessidade de ser explicitamente tratada.
+ */
+public class BadRequestException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor que recebe uma mensagem detalhando a causa da exceção.
+     *
+     * @param msg A mensagem explicando qual parâmetro é inválido.
+     */
+    public BadRequestException(String msg) {
+        super(msg);
+    }
+}
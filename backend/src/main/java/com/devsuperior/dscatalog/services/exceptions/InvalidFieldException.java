@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+/**
+ * Exceção personalizada lançada quando um campo da requisição referencia dados inexistentes
+ * ou inválidos, detectados pela camada de serviço (por exemplo, IDs de categorias que não existem).
+ * 
+ * Esta exceção estende RuntimeException, permitindo que seja usada em transações
+ * sem a necessidade de ser explicitamente tratada.
+ */
+public class InvalidFieldException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String fieldName;
+
+    /**
+     * Construtor que recebe o campo inválido e uma mensagem detalhando a causa da exceção.
+     *
+     * @param fieldName Nome do campo inválido.
+     * @param msg       A mensagem explicando por que o campo é inválido.
+     */
+    public InvalidFieldException(String fieldName, String msg) {
+        super(msg);
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Retorna o nome do campo inválido.
+     *
+     * @return Nome do campo.
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+}
@@ -0,0 +1,22 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+/**
+ * Exceção personalizada lançada quando o serviço está temporariamente sobrecarregado
+ * e a requisição deve ser repetida mais tarde.
+ * 
+ * Esta exceção estende RuntimeException, permitindo que seja usada em transações
+ * sem a necessidade de ser explicitamente tratada.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor que recebe uma mensagem detalhando a causa da exceção.
+     *
+     * @param msg A mensagem explicando qual recurso está sobrecarregado.
+     */
+    public ServiceUnavailableException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+/**
+ * Exceção personalizada lançada quando as credenciais informadas são inválidas.
+ * 
+ * Esta exceção estende RuntimeException, permitindo que seja usada em transações
+ * sem a necessidade de ser explicitamente tratada.
+ */
+public class UnauthorizedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor que recebe uma mensagem detalhando a causa da exceção.
+     *
+     * @param msg A mensagem explicando por que a autenticação falhou.
+     */
+    public UnauthorizedException(String msg) {
+        super(msg);
+    }
+}
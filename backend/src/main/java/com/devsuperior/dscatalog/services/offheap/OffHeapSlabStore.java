@@ -0,0 +1,236 @@
+package com.devsuperior.dscatalog.services.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Armazenamento de blocos de bytes fora do heap, em slabs de {@link ByteBuffer} diretos de tamanho fixo.
+ *
+ * <p>Os valores são gravados em sequência no slab corrente; quando ele enche, passa-se ao próximo e, quando
+ * todos estão em uso, o slab mais antigo é reciclado (FIFO) e todas as suas entradas deixam de existir.
+ * Cada slab guarda as chaves gravadas nele, de modo que a reciclagem remove do índice apenas essas chaves,
+ * sem percorrer o índice inteiro.
+ * No heap fica apenas o índice (chave, versão e posição), de modo que a quantidade de dados armazenada
+ * não afeta o coletor de lixo. Os slabs são alocados sob demanda, até {@code maxBytes}.</p>
+ *
+ * <p>As gravações são serializadas. As leituras não bloqueiam: copiam os bytes com uma leitura otimista
+ * do {@link StampedLock} do slab e descartam o resultado se o slab tiver sido reciclado durante a cópia.
+ * Uma chave só é encontrada com a mesma versão com que foi gravada.</p>
+ */
+public class OffHeapSlabStore {
+
+    private final int slabBytes;
+    private final Slab[] slabs;
+    private final ConcurrentHashMap<Long, Location> index = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private int current = -1;
+
+    /**
+     * Cria o armazenamento.
+     *
+     * @param maxBytes  Memória máxima fora do heap, em bytes.
+     * @param slabBytes Tamanho de cada slab, em bytes; valores maiores que um slab não são armazenados.
+     * @throws IllegalArgumentException Se os tamanhos forem inválidos.
+     */
+    public OffHeapSlabStore(long maxBytes, int slabBytes) {
+        if (slabBytes <= 0 || maxBytes < slabBytes) {
+            throw new IllegalArgumentException("O tamanho máximo deve comportar ao menos um slab");
+        }
+        this.slabBytes = slabBytes;
+        this.slabs = new Slab[(int) Math.min(Integer.MAX_VALUE, maxBytes / slabBytes)];
+    }
+
+    /**
+     * Grava o valor da chave, substituindo o anterior.
+     *
+     * @param key     Chave.
+     * @param version Versão do valor.
+     * @param value   Bytes do valor.
+     * @return {@code true} se o valor foi gravado; {@code false} se ele for maior que um slab.
+     */
+    public synchronized boolean put(long key, long version, byte[] value) {
+        if (value.length > slabBytes) {
+            index.remove(key);
+            return false;
+        }
+        Slab slab = current < 0 ? null : slabs[current];
+        if (slab == null || slabBytes - slab.used < value.length) {
+            slab = advance();
+        }
+        int offset = slab.used;
+        slab.buffer.put(offset, value);
+        slab.used += value.length;
+        slab.addKey(key);
+        // publicado no índice só depois de escrito, para que nenhum leitor veja a região incompleta
+        index.put(key, new Location(slab, slab.generation, offset, value.length, version));
+        return true;
+    }
+
+    /**
+     * Lê o valor da chave, se ele existir na versão informada.
+     *
+     * @param key     Chave.
+     * @param version Versão esperada.
+     * @return Cópia dos bytes do valor, ou {@code null} se não houver valor nessa versão.
+     */
+    public byte[] get(long key, long version) {
+        Location loc = index.get(key);
+        if (loc == null || loc.version != version) {
+            misses.increment();
+            return null;
+        }
+        Slab slab = loc.slab;
+        long stamp = slab.lock.tryOptimisticRead();
+        byte[] value = null;
+        if (stamp != 0 && slab.generation == loc.generation) {
+            value = new byte[loc.length];
+            slab.buffer.get(loc.offset, value);
+            if (!slab.lock.validate(stamp)) {
+                value = null;
+            }
+        }
+        if (value == null) {
+            index.remove(key, loc);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return value;
+    }
+
+    /**
+     * Remove a chave. O espaço ocupado só é reaproveitado quando o slab for reciclado.
+     *
+     * @param key Chave.
+     */
+    public void remove(long key) {
+        index.remove(key);
+    }
+
+    /**
+     * Remove todas as chaves.
+     */
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * Retorna a quantidade de chaves armazenadas.
+     *
+     * @return Quantidade de chaves.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Retorna a memória fora do heap já alocada.
+     *
+     * @return Bytes alocados.
+     */
+    public synchronized long allocatedBytes() {
+        long total = 0;
+        for (Slab slab : slabs) {
+            if (slab != null) {
+                total += slabBytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retorna a quantidade de leituras encontradas.
+     *
+     * @return Acertos.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Retorna a quantidade de leituras não encontradas.
+     *
+     * @return Falhas.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Retorna a quantidade de slabs reciclados.
+     *
+     * @return Reciclagens de slabs.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private Slab advance() {
+        current = (current + 1) % slabs.length;
+        Slab slab = slabs[current];
+        if (slab == null) {
+            slab = new Slab(ByteBuffer.allocateDirect(slabBytes));
+            slabs[current] = slab;
+            return slab;
+        }
+        long stamp = slab.lock.writeLock();
+        try {
+            slab.generation++;
+            slab.used = 0;
+        } finally {
+            slab.lock.unlockWrite(stamp);
+        }
+        Slab recycled = slab;
+        for (int i = 0; i < slab.keyCount; i++) {
+            // a chave pode ter sido regravada em outro slab depois de gravada neste
+            index.computeIfPresent(slab.keys[i], (k, loc) -> loc.slab == recycled ? null : loc);
+        }
+        slab.keyCount = 0;
+        evictions.increment();
+        return slab;
+    }
+
+    private static final class Slab {
+
+        final ByteBuffer buffer;
+        final StampedLock lock = new StampedLock();
+        long generation;
+        int used;
+        long[] keys = new long[64];
+        int keyCount;
+
+        Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void addKey(long key) {
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, keyCount * 2);
+            }
+            keys[keyCount++] = key;
+        }
+    }
+
+    private static final class Location {
+
+        final Slab slab;
+        final long generation;
+        final int offset;
+        final int length;
+        final long version;
+
+        Location(Slab slab, long generation, int offset, int length, long version) {
+            this.slab = slab;
+            this.generation = generation;
+            this.offset = offset;
+            this.length = length;
+            this.version = version;
+        }
+    }
+}
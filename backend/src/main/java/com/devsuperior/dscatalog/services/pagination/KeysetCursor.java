@@ -0,0 +1,155 @@
+package com.devsuperior.dscatalog.services.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.devsuperior.dscatalog.dto.CursorSliceDTO;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+
+/**
+ * Posição de uma paginação por cursor (keyset): o valor da chave de ordenação e o ID
+ * do último elemento entregue ao cliente.
+ *
+ * <p>É trafegado como um token opaco (Base64 URL-safe), de forma que a consulta da próxima fatia
+ * filtra a partir da última chave ({@code WHERE (chave, id) > (:valor, :id)}) em vez de usar OFFSET,
+ * mantendo o custo constante independentemente da profundidade da paginação.</p>
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "\n";
+
+    private final String orderBy;
+    private final Long id;
+    private final String value;
+
+    private KeysetCursor(String orderBy, Long id, String value) {
+        this.orderBy = orderBy;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * Cria um cursor apontando para a posição informada.
+     *
+     * @param orderBy Campo de ordenação.
+     * @param id      ID do último elemento entregue.
+     * @param value   Valor do campo de ordenação do último elemento entregue.
+     * @return O cursor criado.
+     */
+    public static KeysetCursor of(String orderBy, Long id, String value) {
+        return new KeysetCursor(orderBy, id, value == null ? "" : value);
+    }
+
+    /**
+     * Decodifica o token recebido no parâmetro {@code after}.
+     * Um token vazio representa o início da listagem.
+     *
+     * @param token   Token recebido do cliente (pode ser vazio).
+     * @param orderBy Campo de ordenação solicitado.
+     * @param allowed Campos de ordenação suportados pelo recurso.
+     * @return O cursor decodificado.
+     * @throws BadRequestException Se o campo de ordenação não for suportado ou o token for inválido.
+     */
+    public static KeysetCursor decode(String token, String orderBy, Set<String> allowed) {
+        if (!allowed.contains(orderBy)) {
+            throw new BadRequestException("Ordenação por cursor não suportada: " + orderBy);
+        }
+        if (token == null || token.isBlank()) {
+            return of(orderBy, 0L, "");
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            if (parts.length != 3 || !parts[0].equals(orderBy)) {
+                throw new BadRequestException("Cursor inválido para a ordenação " + orderBy);
+            }
+            return of(parts[0], Long.parseLong(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Valida o tamanho da fatia e cria um {@link Pageable} que busca um elemento a mais,
+     * usado para descobrir se existe uma próxima fatia sem consulta de contagem.
+     *
+     * @param size Tamanho da fatia solicitado.
+     * @return Limite a ser aplicado na consulta.
+     * @throws BadRequestException Se o tamanho estiver fora do intervalo permitido.
+     */
+    public static Pageable limit(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("O tamanho deve estar entre 1 e " + MAX_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Monta a fatia de resposta a partir das linhas retornadas pela consulta (com um elemento a mais).
+     *
+     * @param rows     Linhas retornadas pela consulta.
+     * @param size     Tamanho da fatia solicitado.
+     * @param mapper   Função que converte cada linha para o DTO de resposta.
+     * @param cursorOf Função que calcula o cursor de uma linha.
+     * @param <E>      Tipo das linhas.
+     * @param <T>      Tipo dos elementos da resposta.
+     * @return A fatia de resposta.
+     */
+    public static <E, T> CursorSliceDTO<T> slice(List<E> rows, int size, Function<E, T> mapper,
+                                                Function<E, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        List<T> content = new ArrayList<>(page.size());
+        for (E row : page) {
+            content.add(mapper.apply(row));
+        }
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorSliceDTO<>(content, size, hasNext, next);
+    }
+
+    /**
+     * Codifica o cursor como um token opaco.
+     *
+     * @return Token Base64 URL-safe.
+     */
+    public String encode() {
+        String raw = orderBy + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retorna o campo de ordenação.
+     *
+     * @return Campo de ordenação.
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Retorna o ID do último elemento entregue.
+     *
+     * @return ID do último elemento (0 no início da listagem).
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o valor do campo de ordenação do último elemento entregue.
+     *
+     * @return Valor da chave de ordenação (vazio no início da listagem).
+     */
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,242 @@
+package com.devsuperior.dscatalog.services.popularity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Pontuações de popularidade dos produtos, com decaimento exponencial por janela de tempo.
+ *
+ * <p>Em cada janela a pontuação de um produto é a soma das suas visualizações, cada uma com peso
+ * {@code e^(-idade / janela)}: em {@link Window#HOUR} uma visualização de uma hora atrás vale ~37% de uma atual.
+ * A janela {@link Window#ALL} é o total de visualizações, sem decaimento.</p>
+ *
+ * <p>As alterações ({@link #record}, {@link #load}, {@link #remove}) são serializadas e, ao final de cada uma,
+ * é publicada uma classificação imutável por janela; as consultas ({@link #top}) leem essa classificação
+ * sem bloqueio.</p>
+ */
+public class PopularityScores {
+
+    /**
+     * Pontuação mínima para um produto permanecer nas janelas com decaimento.
+     */
+    static final double MIN_SCORE = 1e-3;
+
+    /**
+     * Janelas de popularidade.
+     */
+    public enum Window {
+        HOUR("1h", Duration.ofHours(1)),
+        DAY("24h", Duration.ofDays(1)),
+        WEEK("7d", Duration.ofDays(7)),
+        ALL("all", null);
+
+        private final String label;
+        private final double tauMillis;
+
+        Window(String label, Duration tau) {
+            this.label = label;
+            this.tauMillis = tau == null ? Double.POSITIVE_INFINITY : tau.toMillis();
+        }
+
+        /**
+         * Retorna a janela correspondente ao rótulo.
+         *
+         * @param label Rótulo da janela ("1h", "24h", "7d" ou "all").
+         * @return A janela.
+         * @throws IllegalArgumentException Se o rótulo for desconhecido.
+         */
+        public static Window of(String label) {
+            for (Window w : values()) {
+                if (w.label.equals(label)) {
+                    return w;
+                }
+            }
+            throw new IllegalArgumentException("Janela inválida: " + label + " (use 1h, 24h, 7d ou all)");
+        }
+
+        /**
+         * Retorna o rótulo da janela.
+         *
+         * @return Rótulo da janela.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Pontuação de um produto em uma janela.
+     */
+    public static final class Scored {
+
+        private final long productId;
+        private final double score;
+
+        Scored(long productId, double score) {
+            this.productId = productId;
+            this.score = score;
+        }
+
+        /**
+         * Retorna o ID do produto.
+         *
+         * @return ID do produto.
+         */
+        public long getProductId() {
+            return productId;
+        }
+
+        /**
+         * Retorna a pontuação do produto.
+         *
+         * @return Pontuação na janela.
+         */
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private static final Window[] WINDOWS = Window.values();
+
+    private final Map<Long, double[]> scores = new HashMap<>();
+    private long lastUpdate;
+    private volatile Ranking[] rankings = emptyRankings();
+
+    /**
+     * Substitui todas as pontuações pelos totais de visualizações gravados. As janelas com decaimento
+     * começam vazias, pois o banco não guarda quando cada visualização ocorreu.
+     *
+     * @param totals Total de visualizações por produto.
+     * @param now    Momento atual, em milissegundos.
+     */
+    public synchronized void load(Map<Long, Long> totals, long now) {
+        scores.clear();
+        for (Map.Entry<Long, Long> e : totals.entrySet()) {
+            double[] s = new double[WINDOWS.length];
+            s[Window.ALL.ordinal()] = e.getValue();
+            scores.put(e.getKey(), s);
+        }
+        lastUpdate = now;
+        publish();
+    }
+
+    /**
+     * Aplica o decaimento desde a última atualização e soma as novas visualizações.
+     *
+     * @param views Visualizações por produto desde a última atualização (pode ser vazio).
+     * @param now   Momento atual, em milissegundos.
+     */
+    public synchronized void record(Map<Long, Long> views, long now) {
+        long elapsed = Math.max(0, now - lastUpdate);
+        lastUpdate = now;
+        double[] factors = new double[WINDOWS.length];
+        for (Window w : WINDOWS) {
+            factors[w.ordinal()] = Math.exp(-elapsed / w.tauMillis);
+        }
+        scores.values().removeIf(s -> {
+            boolean alive = false;
+            for (int i = 0; i < s.length; i++) {
+                s[i] *= factors[i];
+                alive |= s[i] >= MIN_SCORE;
+            }
+            return !alive;
+        });
+        for (Map.Entry<Long, Long> e : views.entrySet()) {
+            double[] s = scores.computeIfAbsent(e.getKey(), k -> new double[WINDOWS.length]);
+            for (int i = 0; i < s.length; i++) {
+                s[i] += e.getValue();
+            }
+        }
+        publish();
+    }
+
+    /**
+     * Remove um produto de todas as janelas.
+     *
+     * @param productId ID do produto.
+     */
+    public synchronized void remove(long productId) {
+        if (scores.remove(productId) != null) {
+            publish();
+        }
+    }
+
+    /**
+     * Retorna o total de visualizações de um produto.
+     *
+     * @param productId ID do produto.
+     * @return Total de visualizações (0 se não houver).
+     */
+    public synchronized long totalOf(long productId) {
+        double[] s = scores.get(productId);
+        return s == null ? 0 : (long) s[Window.ALL.ordinal()];
+    }
+
+    /**
+     * Retorna os produtos mais populares da janela, em ordem decrescente de pontuação.
+     *
+     * @param window Janela de popularidade.
+     * @param filter Filtro aplicado aos IDs dos produtos (por exemplo, os de uma categoria).
+     * @param limit  Quantidade máxima de produtos.
+     * @return Os produtos mais populares.
+     */
+    public List<Scored> top(Window window, LongPredicate filter, int limit) {
+        Ranking ranking = rankings[window.ordinal()];
+        List<Scored> list = new ArrayList<>(Math.min(limit, ranking.ids.length));
+        for (int i = 0; i < ranking.ids.length && list.size() < limit; i++) {
+            if (filter.test(ranking.ids[i])) {
+                list.add(new Scored(ranking.ids[i], ranking.scores[i]));
+            }
+        }
+        return list;
+    }
+
+    private void publish() {
+        Ranking[] next = new Ranking[WINDOWS.length];
+        for (Window w : WINDOWS) {
+            int i = w.ordinal();
+            Long[] ids = new Long[scores.size()];
+            int n = 0;
+            for (Map.Entry<Long, double[]> e : scores.entrySet()) {
+                if (e.getValue()[i] >= MIN_SCORE) {
+                    ids[n++] = e.getKey();
+                }
+            }
+            Long[] ranked = Arrays.copyOf(ids, n);
+            Arrays.sort(ranked, (a, b) -> {
+                int c = Double.compare(scores.get(b)[i], scores.get(a)[i]);
+                return c != 0 ? c : Long.compare(a, b);
+            });
+            long[] rankedIds = new long[n];
+            double[] rankedScores = new double[n];
+            for (int k = 0; k < n; k++) {
+                rankedIds[k] = ranked[k];
+                rankedScores[k] = scores.get(ranked[k])[i];
+            }
+            next[i] = new Ranking(rankedIds, rankedScores);
+        }
+        rankings = next;
+    }
+
+    private static Ranking[] emptyRankings() {
+        Ranking[] empty = new Ranking[WINDOWS.length];
+        Arrays.fill(empty, new Ranking(new long[0], new double[0]));
+        return empty;
+    }
+
+    private static final class Ranking {
+
+        final long[] ids;
+        final double[] scores;
+
+        Ranking(long[] ids, double[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+    }
+}
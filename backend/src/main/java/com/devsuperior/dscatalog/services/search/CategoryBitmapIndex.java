@@ -0,0 +1,347 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Índice de bitmaps comprimidos (Roaring) da associação entre produtos e categorias.
+ *
+ * <p>Cada categoria tem um bitmap com os IDs de seus produtos, e um bitmap adicional contém todos os produtos,
+ * usado na negação. Expressões de categorias são avaliadas com operações sobre os bitmaps, sem acessar
+ * o banco de dados; a sintaxe é:</p>
+ * <ul>
+ *   <li>{@code 1,2}: produtos nas categorias 1 <b>e</b> 2;</li>
+ *   <li>{@code 1|2}: produtos na categoria 1 <b>ou</b> na 2 (o "e" tem precedência sobre o "ou");</li>
+ *   <li>{@code -3}: produtos que <b>não</b> estão na categoria 3;</li>
+ *   <li>parênteses para agrupar, por exemplo {@code (1|2),-3}.</li>
+ * </ul>
+ *
+ * <p>As expressões têm no máximo {@link #MAX_EXPRESSION_LENGTH} caracteres e {@link #MAX_DEPTH} níveis
+ * de parênteses e negações aninhados, para que o analisador recursivo não esgote a pilha.</p>
+ *
+ * <p>Os IDs dos produtos precisam caber em um {@code int}. A classe é segura para uso concorrente:
+ * consultas compartilham um bloqueio de leitura e alterações usam o bloqueio de escrita.</p>
+ */
+public class CategoryBitmapIndex {
+
+    public static final int MAX_EXPRESSION_LENGTH = 1000;
+    public static final int MAX_DEPTH = 32;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Integer, long[]> categoriesByProduct = new HashMap<>();
+    private final RoaringBitmap universe = new RoaringBitmap();
+
+    /**
+     * Indexa as categorias de um produto, substituindo as anteriores.
+     *
+     * @param productId   ID do produto.
+     * @param categoryIds IDs das categorias do produto.
+     */
+    public void put(Long productId, Collection<Long> categoryIds) {
+        int id = toInt(productId);
+        long[] categories = categoryIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            universe.add(id);
+            categoriesByProduct.put(id, categories);
+            for (long categoryId : categories) {
+                byCategory.computeIfAbsent(categoryId, c -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um produto do índice.
+     *
+     * @param productId ID do produto.
+     */
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(toInt(productId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove o bitmap de uma categoria.
+     *
+     * @param categoryId ID da categoria.
+     */
+    public void removeCategory(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            byCategory.remove(categoryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todos os produtos e categorias do índice.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            byCategory.clear();
+            categoriesByProduct.clear();
+            universe.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os produtos de uma categoria.
+     *
+     * @param categoryId ID da categoria.
+     * @return Cópia do bitmap da categoria (vazio se a categoria não tiver produtos).
+     */
+    public RoaringBitmap productsOf(Long categoryId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = byCategory.get(categoryId);
+            return bitmap == null ? new RoaringBitmap() : bitmap.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Avalia uma expressão de categorias e calcula, para cada categoria, quantos produtos do resultado
+     * ela contém (facetas).
+     *
+     * @param expression Expressão de categorias.
+     * @return O resultado da avaliação.
+     * @throws IllegalArgumentException Se a expressão for inválida.
+     */
+    public Selection select(String expression) {
+        Node node = new Parser(expression).parse();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap ids = node.evaluate(this);
+            Map<Long, Long> facets = new TreeMap<>();
+            if (!ids.isEmpty()) {
+                for (Map.Entry<Long, RoaringBitmap> e : byCategory.entrySet()) {
+                    long count = RoaringBitmap.andCardinality(ids, e.getValue());
+                    if (count > 0) {
+                        facets.put(e.getKey(), count);
+                    }
+                }
+            }
+            return new Selection(ids, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(int id) {
+        long[] previous = categoriesByProduct.remove(id);
+        if (previous != null) {
+            for (long categoryId : previous) {
+                RoaringBitmap bitmap = byCategory.get(categoryId);
+                if (bitmap != null) {
+                    bitmap.remove(id);
+                }
+            }
+        }
+        universe.remove(id);
+    }
+
+    private static int toInt(Long productId) {
+        if (productId < 0 || productId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID de produto fora do intervalo do índice: " + productId);
+        }
+        return productId.intValue();
+    }
+
+    /**
+     * Resultado da avaliação de uma expressão: os IDs dos produtos, em ordem crescente, e as facetas.
+     */
+    public static final class Selection {
+
+        private final RoaringBitmap ids;
+        private final Map<Long, Long> facets;
+
+        Selection(RoaringBitmap ids, Map<Long, Long> facets) {
+            this.ids = ids;
+            this.facets = facets;
+        }
+
+        /**
+         * Retorna a quantidade de produtos selecionados.
+         *
+         * @return Quantidade de produtos.
+         */
+        public long count() {
+            return ids.getLongCardinality();
+        }
+
+        /**
+         * Retorna os IDs de uma página do resultado, em ordem crescente.
+         *
+         * @param offset Posição do primeiro produto da página.
+         * @param size   Tamanho da página.
+         * @return IDs dos produtos da página.
+         */
+        public List<Long> page(long offset, int size) {
+            List<Long> list = new ArrayList<>(size);
+            if (offset >= ids.getLongCardinality()) {
+                return list;
+            }
+            PeekableIntIterator it = ids.getIntIterator();
+            it.advanceIfNeeded(ids.select((int) offset));
+            while (it.hasNext() && list.size() < size) {
+                list.add((long) it.next());
+            }
+            return list;
+        }
+
+        /**
+         * Retorna, para cada categoria, quantos produtos selecionados ela contém.
+         *
+         * @return Mapa de ID da categoria para quantidade de produtos (apenas categorias com produtos).
+         */
+        public Map<Long, Long> getFacets() {
+            return facets;
+        }
+    }
+
+    private interface Node {
+
+        RoaringBitmap evaluate(CategoryBitmapIndex index);
+    }
+
+    /**
+     * Analisador descendente recursivo da expressão de categorias.
+     */
+    private static final class Parser {
+
+        private final String text;
+        private int pos;
+        private int depth;
+
+        Parser(String text) {
+            this.text = text == null ? "" : text;
+        }
+
+        Node parse() {
+            if (text.length() > MAX_EXPRESSION_LENGTH) {
+                throw new IllegalArgumentException("Expressão de categorias com mais de "
+                        + MAX_EXPRESSION_LENGTH + " caracteres");
+            }
+            Node node = or();
+            skipSpaces();
+            if (pos < text.length()) {
+                throw error();
+            }
+            return node;
+        }
+
+        private Node or() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(and());
+            while (accept('|')) {
+                nodes.add(and());
+            }
+            if (nodes.size() == 1) {
+                return nodes.get(0);
+            }
+            return index -> {
+                RoaringBitmap result = new RoaringBitmap();
+                for (Node n : nodes) {
+                    result.or(n.evaluate(index));
+                }
+                return result;
+            };
+        }
+
+        private Node and() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(unary());
+            while (accept(',')) {
+                nodes.add(unary());
+            }
+            if (nodes.size() == 1) {
+                return nodes.get(0);
+            }
+            return index -> {
+                RoaringBitmap result = nodes.get(0).evaluate(index);
+                for (int i = 1; i < nodes.size() && !result.isEmpty(); i++) {
+                    result.and(nodes.get(i).evaluate(index));
+                }
+                return result;
+            };
+        }
+
+        private Node unary() {
+            if (accept('-')) {
+                enter();
+                Node operand = unary();
+                depth--;
+                return index -> RoaringBitmap.andNot(index.universe, operand.evaluate(index));
+            }
+            if (accept('(')) {
+                enter();
+                Node node = or();
+                if (!accept(')')) {
+                    throw error();
+                }
+                depth--;
+                return node;
+            }
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos || pos - start > 18) {
+                throw error();
+            }
+            long categoryId = Long.parseLong(text.substring(start, pos));
+            return index -> {
+                RoaringBitmap bitmap = index.byCategory.get(categoryId);
+                return bitmap == null ? new RoaringBitmap() : bitmap.clone();
+            };
+        }
+
+        private void enter() {
+            if (++depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Expressão de categorias com mais de "
+                        + MAX_DEPTH + " níveis de aninhamento");
+            }
+        }
+
+        private boolean accept(char c) {
+            skipSpaces();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && text.charAt(pos) == ' ') {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error() {
+            return new IllegalArgumentException("Expressão de categorias inválida na posição " + (pos + 1) + ": " + text);
+        }
+    }
+}
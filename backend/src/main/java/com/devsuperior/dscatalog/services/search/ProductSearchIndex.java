@@ -0,0 +1,348 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.devsuperior.dscatalog.dto.ProductSearchHitDTO;
+
+/**
+ * Índice invertido em memória sobre o nome e a descrição dos produtos.
+ *
+ * <p>A relevância é calculada com BM25F: o nome tem peso maior que a descrição e cada campo
+ * é normalizado pelo seu tamanho médio. Termos da consulta que não existem no dicionário são
+ * aproximados por termos com distância de edição pequena (vizinhança de deleções), com
+ * uma penalidade no score: até 1 para termos de 4 a 7 caracteres e até 2 a partir de 8. Para isso,
+ * o dicionário guarda as variações com até duas deleções dos termos que podem estar a distância 2
+ * de uma consulta, e a consulta gera as suas variações até a distância permitida.</p>
+ *
+ * <p>A classe é segura para uso concorrente: buscas compartilham um bloqueio de leitura e
+ * alterações usam o bloqueio de escrita.</p>
+ */
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_BOOST = 3.0;
+    private static final double FUZZY_PENALTY = 0.7;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MIN_FUZZY_LENGTH_DISTANCE_2 = 8;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Posting>> postings = new HashMap<>();
+    private final Map<String, Set<String>> deletionNeighborhood = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalNameLength;
+    private long totalDescriptionLength;
+
+    /**
+     * Indexa um produto, substituindo a versão anterior caso ele já esteja no índice.
+     *
+     * @param id          ID do produto.
+     * @param name        Nome do produto.
+     * @param description Descrição do produto.
+     * @param price       Preço do produto.
+     * @param imgUrl      URL da imagem do produto.
+     */
+    public void index(Long id, String name, String description, Double price, String imgUrl) {
+        List<String> nameTerms = TextNormalizer.tokenize(name);
+        List<String> descriptionTerms = TextNormalizer.tokenize(description);
+
+        Map<String, Posting> docPostings = new HashMap<>();
+        for (String term : nameTerms) {
+            docPostings.computeIfAbsent(term, t -> new Posting()).nameTf++;
+        }
+        for (String term : descriptionTerms) {
+            docPostings.computeIfAbsent(term, t -> new Posting()).descriptionTf++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            Document doc = new Document(id, name, price, imgUrl, nameTerms.size(), descriptionTerms.size(),
+                    docPostings.keySet().toArray(new String[0]));
+            documents.put(id, doc);
+            totalNameLength += doc.nameLength;
+            totalDescriptionLength += doc.descriptionLength;
+            for (Map.Entry<String, Posting> e : docPostings.entrySet()) {
+                Map<Long, Posting> termPostings = postings.get(e.getKey());
+                if (termPostings == null) {
+                    termPostings = new HashMap<>();
+                    postings.put(e.getKey(), termPostings);
+                    addToNeighborhood(e.getKey());
+                }
+                termPostings.put(id, e.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um produto do índice. Não faz nada se o produto não estiver indexado.
+     *
+     * @param id ID do produto.
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todos os produtos do índice.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            deletionNeighborhood.clear();
+            documents.clear();
+            totalNameLength = 0;
+            totalDescriptionLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de produtos indexados.
+     *
+     * @return Quantidade de produtos no índice.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os produtos mais relevantes para a consulta informada.
+     *
+     * @param query Texto livre digitado pelo usuário.
+     * @param limit Quantidade máxima de resultados.
+     * @return Resultados ordenados do mais relevante para o menos relevante.
+     */
+    public List<ProductSearchHitDTO> search(String query, int limit) {
+        List<String> queryTerms = TextNormalizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int n = documents.size();
+            if (n == 0) {
+                return new ArrayList<>();
+            }
+            double avgName = Math.max(1.0, (double) totalNameLength / n);
+            double avgDescription = Math.max(1.0, (double) totalDescriptionLength / n);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String queryTerm : new HashSet<>(queryTerms)) {
+                for (Map.Entry<String, Double> match : expand(queryTerm).entrySet()) {
+                    Map<Long, Posting> termPostings = postings.get(match.getKey());
+                    double idf = Math.log(1.0 + (n - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                    for (Map.Entry<Long, Posting> p : termPostings.entrySet()) {
+                        Document doc = documents.get(p.getKey());
+                        Posting posting = p.getValue();
+                        double tf = NAME_BOOST * posting.nameTf / (1 - B + B * doc.nameLength / avgName)
+                                + posting.descriptionTf / (1 - B + B * doc.descriptionLength / avgDescription);
+                        double score = match.getValue() * idf * tf * (K1 + 1) / (tf + K1);
+                        scores.merge(p.getKey(), score, Double::sum);
+                    }
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int cmp = Double.compare(b.getValue(), a.getValue());
+                return cmp != 0 ? cmp : Long.compare(a.getKey(), b.getKey());
+            });
+
+            List<ProductSearchHitDTO> result = new ArrayList<>();
+            for (Map.Entry<Long, Double> e : ranked.subList(0, Math.min(limit, ranked.size()))) {
+                Document doc = documents.get(e.getKey());
+                result.add(new ProductSearchHitDTO(doc.id, doc.name, doc.price, doc.imgUrl, e.getValue()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve um termo da consulta para os termos do dicionário que devem ser pontuados,
+     * junto com o peso de cada um (1.0 para o termo exato, penalizado para aproximações).
+     */
+    private Map<String, Double> expand(String queryTerm) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.containsKey(queryTerm)) {
+            matches.put(queryTerm, 1.0);
+        }
+        if (queryTerm.length() < MIN_FUZZY_LENGTH) {
+            return matches;
+        }
+        int maxDistance = queryTerm.length() >= MIN_FUZZY_LENGTH_DISTANCE_2 ? 2 : 1;
+        for (String variant : deletionVariants(queryTerm, maxDistance)) {
+            Set<String> candidates = deletionNeighborhood.get(variant);
+            if (candidates == null) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (!matches.containsKey(candidate)
+                        && editDistance(queryTerm, candidate, maxDistance) <= maxDistance) {
+                    matches.put(candidate, FUZZY_PENALTY);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void removeInternal(Long id) {
+        Document doc = documents.remove(id);
+        if (doc == null) {
+            return;
+        }
+        totalNameLength -= doc.nameLength;
+        totalDescriptionLength -= doc.descriptionLength;
+        for (String term : doc.terms) {
+            Map<Long, Posting> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                removeFromNeighborhood(term);
+            }
+        }
+    }
+
+    private void addToNeighborhood(String term) {
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return;
+        }
+        for (String variant : deletionVariants(term, neighborhoodDistance(term))) {
+            deletionNeighborhood.computeIfAbsent(variant, v -> new HashSet<>()).add(term);
+        }
+    }
+
+    private void removeFromNeighborhood(String term) {
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return;
+        }
+        for (String variant : deletionVariants(term, neighborhoodDistance(term))) {
+            Set<String> terms = deletionNeighborhood.get(variant);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    deletionNeighborhood.remove(variant);
+                }
+            }
+        }
+    }
+
+    /**
+     * Quantidade de deleções guardadas para um termo do dicionário. Um termo só fica a distância 2
+     * de uma consulta com ao menos {@link #MIN_FUZZY_LENGTH_DISTANCE_2} caracteres se tiver pelo menos
+     * dois caracteres a menos que ela; os demais precisam apenas das variações com uma deleção.
+     */
+    private static int neighborhoodDistance(String term) {
+        return term.length() >= MIN_FUZZY_LENGTH_DISTANCE_2 - 2 ? 2 : 1;
+    }
+
+    /**
+     * Retorna o próprio termo e todas as variações obtidas removendo até {@code distance} caracteres.
+     * Dois termos estão a distância de edição de no máximo {@code distance} somente se compartilham
+     * uma variação, de modo que os candidatos encontrados só precisam ser confirmados por
+     * {@link #editDistance(String, String, int)}.
+     */
+    private static Set<String> deletionVariants(String term, int distance) {
+        Set<String> variants = new HashSet<>();
+        variants.add(term);
+        Set<String> level = variants;
+        for (int d = 0; d < distance; d++) {
+            Set<String> nextLevel = new HashSet<>();
+            for (String v : level) {
+                for (int i = 0; i < v.length(); i++) {
+                    nextLevel.add(v.substring(0, i) + v.substring(i + 1));
+                }
+            }
+            variants.addAll(nextLevel);
+            level = nextLevel;
+        }
+        return variants;
+    }
+
+    /**
+     * Distância de Damerau-Levenshtein (transposições adjacentes contam como uma edição),
+     * interrompida assim que ultrapassa {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    /**
+     * Frequência de um termo em cada campo de um produto.
+     */
+    private static class Posting {
+        int nameTf;
+        int descriptionTf;
+    }
+
+    /**
+     * Dados armazenados por produto para montar os resultados sem consultar o banco.
+     */
+    private static class Document {
+        final Long id;
+        final String name;
+        final Double price;
+        final String imgUrl;
+        final int nameLength;
+        final int descriptionLength;
+        final String[] terms;
+
+        Document(Long id, String name, Double price, String imgUrl, int nameLength, int descriptionLength,
+                 String[] terms) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.imgUrl = imgUrl;
+            this.nameLength = nameLength;
+            this.descriptionLength = descriptionLength;
+            this.terms = terms;
+        }
+    }
+}
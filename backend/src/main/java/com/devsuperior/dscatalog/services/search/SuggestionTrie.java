@@ -0,0 +1,324 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
+
+/**
+ * Árvore de prefixos (trie) em memória para autocompletar nomes de produtos e categorias.
+ *
+ * <p>Cada nome é indexado a partir do início de cada uma de suas palavras, de modo que "phone" sugere
+ * "Smartphone X" e "Apple iPhone". Cada nó guarda as {@value #TOP_K} melhores sugestões da sua subárvore,
+ * ordenadas por popularidade, então uma consulta custa apenas a descida pelos caracteres do prefixo,
+ * sem percorrer a subárvore nem ordenar.</p>
+ *
+ * <p>As leituras não usam bloqueio: os filhos e as sugestões de cada nó são arrays imutáveis, trocados
+ * atomicamente pelas escritas, que são serializadas. Os filhos ficam em arrays ordenados (busca binária)
+ * em vez de mapas, para reduzir o consumo de memória por nó.</p>
+ */
+public class SuggestionTrie {
+
+    public static final int TOP_K = 10;
+
+    static final int MAX_KEY_LENGTH = 32;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong((Entry e) -> -e.weight)
+            .thenComparingInt(e -> e.text.length())
+            .thenComparing(e -> e.text)
+            .thenComparing(e -> e.type)
+            .thenComparingLong(e -> e.id);
+
+    private final Node root = new Node(null, '\0');
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Retorna as sugestões mais populares para o prefixo informado.
+     *
+     * @param prefix Texto digitado pelo usuário.
+     * @param limit  Quantidade máxima de sugestões (no máximo {@value #TOP_K}).
+     * @return Sugestões ordenadas por popularidade.
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = keyOf(prefix);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return new ArrayList<>();
+        }
+        Entry[] top = node.top;
+        int n = Math.min(limit, top.length);
+        List<SuggestionDTO> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(top[i].suggestion);
+        }
+        return result;
+    }
+
+    /**
+     * Indexa um nome, substituindo a versão anterior da mesma entidade.
+     * Uma entidade reindexada mantém a popularidade que já possuía.
+     *
+     * @param type   Tipo da entidade (PRODUCT ou CATEGORY).
+     * @param id     ID da entidade.
+     * @param text   Nome da entidade.
+     */
+    public synchronized void put(String type, Long id, String text) {
+        Entry previous = entries.get(type + ":" + id);
+        long weight = previous == null ? 0 : previous.weight;
+        if (previous != null) {
+            if (previous.text.equals(text)) {
+                return;
+            }
+            removeEntry(previous);
+        }
+        Entry entry = new Entry(type, id, text, weight);
+        entries.put(entry.ref, entry);
+        for (String key : entry.keys) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+            }
+            node.own.add(entry);
+            refresh(node, false);
+        }
+    }
+
+    /**
+     * Remove uma entidade do índice.
+     *
+     * @param type Tipo da entidade.
+     * @param id   ID da entidade.
+     */
+    public synchronized void remove(String type, Long id) {
+        Entry entry = entries.remove(type + ":" + id);
+        if (entry != null) {
+            removeEntry(entry);
+        }
+    }
+
+    /**
+     * Atualiza a popularidade de uma entidade, reordenando as sugestões afetadas.
+     *
+     * @param type   Tipo da entidade.
+     * @param id     ID da entidade.
+     * @param weight Nova popularidade (quanto maior, mais acima nas sugestões).
+     */
+    public synchronized void updateWeight(String type, Long id, long weight) {
+        Entry entry = entries.get(type + ":" + id);
+        if (entry == null || entry.weight == weight) {
+            return;
+        }
+        entry.weight = weight;
+        for (String key : entry.keys) {
+            Node node = find(key);
+            if (node != null) {
+                refresh(node, true);
+            }
+        }
+    }
+
+    /**
+     * Remove todas as entidades do índice.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        root.children = Children.EMPTY;
+        root.top = NO_ENTRIES;
+    }
+
+    /**
+     * Retorna a quantidade de entidades indexadas.
+     *
+     * @return Quantidade de entidades.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gera a chave de busca de um texto: normalizado, com os separadores reduzidos a um espaço
+     * e limitado a {@value #MAX_KEY_LENGTH} caracteres.
+     */
+    static String keyOf(String text) {
+        String normalized = TextNormalizer.normalize(text);
+        StringBuilder sb = new StringBuilder(Math.min(normalized.length(), MAX_KEY_LENGTH));
+        boolean pendingSpace = false;
+        for (int i = 0; i < normalized.length() && sb.length() < MAX_KEY_LENGTH; i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                if (sb.length() < MAX_KEY_LENGTH) {
+                    sb.append(c);
+                }
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private void removeEntry(Entry entry) {
+        for (String key : entry.keys) {
+            Node node = find(key);
+            if (node != null) {
+                node.own.remove(entry);
+                refresh(node, false);
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Recalcula as melhores sugestões do nó e de seus ancestrais, a partir das sugestões próprias
+     * e das dos filhos. Para assim que um nó não muda, pois os ancestrais também não mudariam,
+     * exceto quando {@code force} é verdadeiro (mudança de popularidade, que reordena sem mudar o conjunto).
+     * Nós que ficaram vazios são removidos da árvore.
+     */
+    private void refresh(Node node, boolean force) {
+        while (node != null) {
+            Node parent = node.parent;
+            if (parent != null && node.own.isEmpty() && node.children.keys.length == 0) {
+                parent.removeChild(node.c);
+                node = parent;
+                continue;
+            }
+            List<Entry> candidates = new ArrayList<>(node.own);
+            for (Node child : node.children.nodes) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            Entry[] top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_ENTRIES);
+            if (!force && Arrays.equals(top, node.top)) {
+                return;
+            }
+            node.top = top;
+            node = parent;
+        }
+    }
+
+    private static final class Entry {
+
+        final String ref;
+        final String type;
+        final long id;
+        final String text;
+        final Set<String> keys = new LinkedHashSet<>();
+        final SuggestionDTO suggestion;
+        long weight;
+
+        Entry(String type, Long id, String text, long weight) {
+            this.ref = type + ":" + id;
+            this.type = type;
+            this.id = id;
+            this.text = text;
+            this.weight = weight;
+            this.suggestion = new SuggestionDTO(type, id, text);
+            String key = keyOf(text);
+            for (int i = 0; i < key.length(); i++) {
+                if (i == 0 || key.charAt(i - 1) == ' ') {
+                    keys.add(key.substring(i));
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+
+        final Node parent;
+        final char c;
+        final List<Entry> own = new ArrayList<>(1);
+        volatile Children children = Children.EMPTY;
+        volatile Entry[] top = NO_ENTRIES;
+
+        Node(Node parent, char c) {
+            this.parent = parent;
+            this.c = c;
+        }
+
+        Node childOrCreate(char key) {
+            Node child = children.get(key);
+            if (child == null) {
+                child = new Node(this, key);
+                children = children.with(key, child);
+            }
+            return child;
+        }
+
+        void removeChild(char key) {
+            children = children.without(key);
+        }
+    }
+
+    /**
+     * Filhos de um nó em arrays ordenados e imutáveis.
+     */
+    private static final class Children {
+
+        static final Children EMPTY = new Children(new char[0], new Node[0]);
+
+        final char[] keys;
+        final Node[] nodes;
+
+        Children(char[] keys, Node[] nodes) {
+            this.keys = keys;
+            this.nodes = nodes;
+        }
+
+        Node get(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i >= 0 ? nodes[i] : null;
+        }
+
+        Children with(char key, Node node) {
+            int i = -Arrays.binarySearch(keys, key) - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] n = new Node[nodes.length + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(nodes, 0, n, 0, i);
+            k[i] = key;
+            n[i] = node;
+            System.arraycopy(keys, i, k, i + 1, keys.length - i);
+            System.arraycopy(nodes, i, n, i + 1, nodes.length - i);
+            return new Children(k, n);
+        }
+
+        Children without(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            if (i < 0) {
+                return this;
+            }
+            char[] k = new char[keys.length - 1];
+            Node[] n = new Node[nodes.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(nodes, 0, n, 0, i);
+            System.arraycopy(keys, i + 1, k, i, keys.length - i - 1);
+            System.arraycopy(nodes, i + 1, n, i, nodes.length - i - 1);
+            return new Children(k, n);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitário de normalização de texto usado pelos índices em memória do catálogo.
+ * Remove acentos, converte para minúsculas e separa o texto em termos.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normaliza um texto removendo acentos e convertendo para minúsculas.
+     *
+     * @param text Texto original (pode ser {@code null}).
+     * @return Texto normalizado, ou uma string vazia se o texto for {@code null}.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Separa um texto em termos normalizados, descartando termos com menos de dois caracteres.
+     *
+     * @param text Texto original (pode ser {@code null}).
+     * @return Lista de termos na ordem em que aparecem no texto.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (token.length() >= 2) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,285 @@
+package com.devsuperior.dscatalog.services.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+/**
+ * Snapshot binário do catálogo, somente-leitura, mapeado em memória a partir de um arquivo gravado pelo
+ * {@link CatalogSnapshotWriter}.
+ *
+ * <p>As categorias são carregadas no heap na abertura. Os produtos ficam no arquivo mapeado e são localizados
+ * por busca binária no índice, de modo que abrir o snapshot é imediato e as páginas do arquivo são carregadas
+ * pelo sistema operacional sob demanda, fora do heap. A classe é segura para uso concorrente.</p>
+ */
+public final class CatalogSnapshot {
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final Instant createdAt;
+    private final long changePosition;
+    private final int productCount;
+    private final long indexPosition;
+    private final Map<Long, CategoryEntry> categories;
+
+    private CatalogSnapshot(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < CatalogSnapshotWriter.HEADER_BYTES
+                || buffer.getInt(0) != CatalogSnapshotWriter.MAGIC) {
+            throw new IllegalArgumentException("Arquivo não é um snapshot do catálogo: " + file);
+        }
+        if (buffer.getInt(4) != CatalogSnapshotWriter.FORMAT) {
+            throw new IllegalArgumentException("Formato de snapshot não suportado: " + buffer.getInt(4));
+        }
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(8));
+        this.changePosition = buffer.getLong(16);
+        int categoryCount = buffer.getInt(24);
+        this.productCount = buffer.getInt(28);
+        this.indexPosition = buffer.getLong(32);
+        if (indexPosition + productCount * 16L != buffer.capacity()) {
+            throw new IllegalArgumentException("Snapshot incompleto: " + file);
+        }
+
+        ByteBuffer in = buffer.duplicate();
+        in.position(CatalogSnapshotWriter.HEADER_BYTES);
+        Map<Long, CategoryEntry> map = new HashMap<>();
+        for (int i = 0; i < categoryCount; i++) {
+            CategoryEntry entry = new CategoryEntry(in.getLong(), in.getLong(), in.getLong(), readString(in));
+            map.put(entry.id, entry);
+        }
+        this.categories = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Mapeia o arquivo em memória e valida o cabeçalho.
+     *
+     * @param file Arquivo do snapshot.
+     * @return O snapshot aberto.
+     * @throws IOException Se o arquivo não puder ser lido.
+     * @throws IllegalArgumentException Se o arquivo não for um snapshot válido.
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot maior que 2 GB: " + file);
+            }
+            // o mapeamento continua válido depois que o canal é fechado
+            return new CatalogSnapshot(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Retorna o produto, com suas categorias.
+     *
+     * @param id ID do produto.
+     * @return Um novo DTO do produto, ou {@code null} se ele não estiver no snapshot.
+     */
+    public ProductDTO findProduct(long id) {
+        ByteBuffer in = record(id);
+        if (in == null) {
+            return null;
+        }
+        long productId = in.getLong();
+        long version = in.getLong();
+        in.getLong(); // atualizado em
+        String name = readString(in);
+        String description = readString(in);
+        boolean hasPrice = in.get() != 0;
+        double price = in.getDouble();
+        String imgUrl = readString(in);
+        long date = in.getLong();
+        ProductDTO dto = new ProductDTO(productId, name, description, hasPrice ? price : null, imgUrl,
+                date == CatalogSnapshotWriter.NULL ? null : Instant.ofEpochMilli(date));
+        dto.setVersion(version == CatalogSnapshotWriter.NULL ? null : version);
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            CategoryEntry category = categories.get(in.getLong());
+            if (category != null) {
+                dto.getCategories().add(category.toDTO());
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * Retorna a versão e a data da última alteração do produto, sem decodificar o restante do registro.
+     *
+     * @param id ID do produto.
+     * @return Vetor com a versão e o momento da alteração em milissegundos ({@link CatalogSnapshotWriter#NULL}
+     *         se nulos), ou {@code null} se o produto não estiver no snapshot.
+     */
+    public long[] findProductVersion(long id) {
+        ByteBuffer in = record(id);
+        if (in == null) {
+            return null;
+        }
+        in.getLong();
+        return new long[] { in.getLong(), in.getLong() };
+    }
+
+    /**
+     * Retorna os IDs das categorias do produto.
+     *
+     * @param id ID do produto.
+     * @return IDs das categorias, ou {@code null} se o produto não estiver no snapshot.
+     */
+    public long[] findProductCategoryIds(long id) {
+        ByteBuffer in = record(id);
+        if (in == null) {
+            return null;
+        }
+        in.position(in.position() + 24);
+        skipString(in);
+        skipString(in);
+        in.position(in.position() + 9);
+        skipString(in);
+        in.getLong();
+        long[] ids = new long[in.getInt()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = in.getLong();
+        }
+        return ids;
+    }
+
+    /**
+     * Retorna a categoria.
+     *
+     * @param id ID da categoria.
+     * @return Um novo DTO da categoria, ou {@code null} se ela não estiver no snapshot.
+     */
+    public CategoryDTO findCategory(long id) {
+        CategoryEntry category = categories.get(id);
+        return category == null ? null : category.toDTO();
+    }
+
+    /**
+     * Retorna a versão e a data da última alteração da categoria.
+     *
+     * @param id ID da categoria.
+     * @return Vetor com a versão e o momento da alteração em milissegundos ({@link CatalogSnapshotWriter#NULL}
+     *         se nulos), ou {@code null} se a categoria não estiver no snapshot.
+     */
+    public long[] findCategoryVersion(long id) {
+        CategoryEntry category = categories.get(id);
+        return category == null ? null : new long[] { category.version, category.updatedAt };
+    }
+
+    /**
+     * Retorna o arquivo do snapshot.
+     *
+     * @return Caminho do arquivo.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Retorna o momento em que o snapshot foi gravado.
+     *
+     * @return Momento da gravação.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Retorna a posição do log de alterações refletida no snapshot; as alterações posteriores
+     * devem ser lidas do feed a partir dela.
+     *
+     * @return Posição do log de alterações.
+     */
+    public long getChangePosition() {
+        return changePosition;
+    }
+
+    /**
+     * Retorna a quantidade de produtos do snapshot.
+     *
+     * @return Quantidade de produtos.
+     */
+    public int getProductCount() {
+        return productCount;
+    }
+
+    /**
+     * Retorna a quantidade de categorias do snapshot.
+     *
+     * @return Quantidade de categorias.
+     */
+    public int getCategoryCount() {
+        return categories.size();
+    }
+
+    /**
+     * Localiza o registro do produto por busca binária no índice.
+     */
+    private ByteBuffer record(long id) {
+        int low = 0;
+        int high = productCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long entry = indexPosition + mid * 16L;
+            long midId = buffer.getLong((int) entry);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                ByteBuffer in = buffer.duplicate();
+                in.position((int) buffer.getLong((int) entry + 8));
+                return in;
+            }
+        }
+        return null;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+
+    private static final class CategoryEntry {
+
+        final long id;
+        final long version;
+        final long updatedAt;
+        final String name;
+
+        CategoryEntry(long id, long version, long updatedAt, String name) {
+            this.id = id;
+            this.version = version;
+            this.updatedAt = updatedAt;
+            this.name = name;
+        }
+
+        CategoryDTO toDTO() {
+            CategoryDTO dto = new CategoryDTO(id, name);
+            dto.setVersion(version == CatalogSnapshotWriter.NULL ? null : version);
+            return dto;
+        }
+    }
+}
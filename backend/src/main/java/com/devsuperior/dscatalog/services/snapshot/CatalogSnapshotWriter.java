@@ -0,0 +1,177 @@
+package com.devsuperior.dscatalog.services.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+/**
+ * Grava um snapshot binário do catálogo no formato lido pelo {@link CatalogSnapshot}.
+ *
+ * <p>As categorias são gravadas primeiro e depois os produtos, em fluxo e em ordem crescente de ID; apenas
+ * o índice (ID e posição de cada produto, 16 bytes por produto) é acumulado em memória até o fim.
+ * Todos os números são big-endian; as strings são gravadas como tamanho em bytes ({@code -1} para
+ * {@code null}) seguido do UTF-8, e versões e datas nulas como {@link #NULL}.</p>
+ *
+ * <pre>
+ * cabeçalho   magic, formato (int), criado em, posição do log (long), categorias, produtos (int),
+ *             posição do índice (long)
+ * categorias  id, versão, atualizado em (long), nome
+ * produtos    id, versão, atualizado em (long), nome, descrição, tem preço (byte), preço (double), imgUrl,
+ *             data (long), quantidade de categorias (int), IDs das categorias (long)
+ * índice      id, posição (long), ordenado por id
+ * </pre>
+ */
+public class CatalogSnapshotWriter implements Closeable {
+
+    static final int MAGIC = 0x44534353; // "DSCS"
+    static final int FORMAT = 1;
+    static final int HEADER_BYTES = 40;
+    /** Valor gravado no lugar de versões e datas nulas. */
+    public static final long NULL = Long.MIN_VALUE;
+
+    private final Path file;
+    private final DataOutputStream out;
+    private final int categoryCount;
+    private int categoriesWritten;
+    private long[] index = new long[1024];
+    private int productCount;
+    private long lastId = Long.MIN_VALUE;
+
+    /**
+     * Abre o arquivo e grava o cabeçalho.
+     *
+     * @param file           Arquivo de destino (sobrescrito se existir).
+     * @param changePosition Posição do log de alterações já refletida no snapshot.
+     * @param categoryCount  Quantidade de categorias que serão gravadas.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public CatalogSnapshotWriter(Path file, long changePosition, int categoryCount) throws IOException {
+        this.file = file;
+        this.categoryCount = categoryCount;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeLong(Instant.now().toEpochMilli());
+        out.writeLong(changePosition);
+        out.writeInt(categoryCount);
+        out.writeInt(0);  // quantidade de produtos, preenchida em finish()
+        out.writeLong(0); // posição do índice, preenchida em finish()
+    }
+
+    /**
+     * Grava uma categoria.
+     *
+     * @param dto       Categoria.
+     * @param updatedAt Momento da última alteração da categoria (pode ser {@code null}).
+     * @throws IOException Se ocorrer um erro de escrita.
+     * @throws IllegalStateException Se todas as categorias anunciadas já tiverem sido gravadas.
+     */
+    public void writeCategory(CategoryDTO dto, Instant updatedAt) throws IOException {
+        if (categoriesWritten == categoryCount) {
+            throw new IllegalStateException("Todas as " + categoryCount + " categorias já foram gravadas");
+        }
+        categoriesWritten++;
+        out.writeLong(dto.getId());
+        out.writeLong(dto.getVersion() == null ? NULL : dto.getVersion());
+        out.writeLong(updatedAt == null ? NULL : updatedAt.toEpochMilli());
+        writeString(dto.getName());
+    }
+
+    /**
+     * Grava um produto.
+     *
+     * @param dto       Produto, com suas categorias.
+     * @param updatedAt Momento da última alteração do produto (pode ser {@code null}).
+     * @throws IOException Se ocorrer um erro de escrita.
+     * @throws IllegalArgumentException Se os produtos não estiverem em ordem crescente de ID.
+     * @throws IllegalStateException Se ainda faltarem categorias.
+     */
+    public void writeProduct(ProductDTO dto, Instant updatedAt) throws IOException {
+        checkCategories();
+        if (dto.getId() <= lastId) {
+            throw new IllegalArgumentException("Os produtos devem ser gravados em ordem crescente de ID");
+        }
+        lastId = dto.getId();
+        if (index.length < (productCount + 1) * 2) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[productCount * 2] = dto.getId();
+        index[productCount * 2 + 1] = position();
+        productCount++;
+
+        out.writeLong(dto.getId());
+        out.writeLong(dto.getVersion() == null ? NULL : dto.getVersion());
+        out.writeLong(updatedAt == null ? NULL : updatedAt.toEpochMilli());
+        writeString(dto.getName());
+        writeString(dto.getDescription());
+        out.writeBoolean(dto.getPrice() != null);
+        out.writeDouble(dto.getPrice() == null ? 0 : dto.getPrice());
+        writeString(dto.getImgUrl());
+        out.writeLong(dto.getDate() == null ? NULL : dto.getDate().toEpochMilli());
+        out.writeInt(dto.getCategories().size());
+        for (CategoryDTO c : dto.getCategories()) {
+            out.writeLong(c.getId());
+        }
+    }
+
+    /**
+     * Grava o índice, completa o cabeçalho e fecha o arquivo.
+     *
+     * @return Quantidade de produtos gravados.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public int finish() throws IOException {
+        checkCategories();
+        long indexPosition = position();
+        for (int i = 0; i < productCount * 2; i++) {
+            out.writeLong(index[i]);
+        }
+        position(); // garante que o arquivo inteiro cabe em um único mapeamento
+        out.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(28);
+            raf.writeInt(productCount);
+            raf.writeLong(indexPosition);
+        }
+        return productCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void checkCategories() {
+        if (categoriesWritten != categoryCount) {
+            throw new IllegalStateException("Foram gravadas " + categoriesWritten + " de " + categoryCount + " categorias");
+        }
+    }
+
+    private long position() {
+        // DataOutputStream.size() satura em Integer.MAX_VALUE, que também é o limite de um mapeamento
+        if (out.size() == Integer.MAX_VALUE) {
+            throw new IllegalStateException("O snapshot ultrapassou o limite de 2 GB");
+        }
+        return out.size();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
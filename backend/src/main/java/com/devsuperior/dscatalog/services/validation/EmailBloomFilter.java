@@ -0,0 +1,89 @@
+package com.devsuperior.dscatalog.services.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.repositories.UserRepository;
+
+/**
+ * Filtro de Bloom com os emails dos usuários cadastrados, usado pelos validadores para descartar,
+ * sem consultar o banco de dados, o caso mais comum: um email que ainda não existe.
+ *
+ * <p>É construído na inicialização da aplicação e recebe os emails gravados pelo
+ * {@link com.devsuperior.dscatalog.services.UserService} dentro da própria transação, antes do commit,
+ * para que nunca haja um email gravado que o filtro desconheça. Emails removidos ou substituídos
+ * permanecem no filtro e apenas geram uma consulta desnecessária; o índice único de
+ * {@code tb_user.email} continua sendo a garantia final.</p>
+ */
+@Component
+public class EmailBloomFilter {
+
+    private volatile StringBloomFilter filter;
+    private final List<String> pending = new ArrayList<>();
+
+    @Autowired
+    private UserRepository repository;
+
+    @Value("${dscatalog.email-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${dscatalog.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * Verifica se um email pode estar cadastrado.
+     * Enquanto o filtro não foi construído, sempre responde {@code true}.
+     *
+     * @param email Email a ser verificado.
+     * @return {@code false} se o email certamente não está cadastrado; {@code true} se talvez esteja.
+     */
+    public boolean mightExist(String email) {
+        StringBloomFilter current = filter;
+        return email == null || current == null || current.mightContain(email);
+    }
+
+    /**
+     * Adiciona um email ao filtro. Se o filtro ainda estiver sendo construído,
+     * o email é guardado e adicionado ao final da construção.
+     *
+     * @param email Email gravado.
+     */
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        synchronized (pending) {
+            if (filter == null) {
+                pending.add(email);
+                return;
+            }
+        }
+        filter.add(email);
+    }
+
+    /**
+     * Reconstrói o filtro a partir de todos os emails do banco de dados.
+     * Executado automaticamente quando a aplicação termina de inicializar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        StringBloomFilter rebuilt = new StringBloomFilter(expectedInsertions, falsePositiveRate);
+        try (Stream<String> emails = repository.streamAllEmails()) {
+            emails.forEach(rebuilt::add);
+        }
+        synchronized (pending) {
+            pending.forEach(rebuilt::add);
+            pending.clear();
+            filter = rebuilt;
+        }
+    }
+}
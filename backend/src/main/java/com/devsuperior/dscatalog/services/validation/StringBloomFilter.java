@@ -0,0 +1,93 @@
+package com.devsuperior.dscatalog.services.validation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings, seguro para uso concorrente e sem bloqueios.
+ *
+ * <p>Responde se uma string <b>certamente não</b> foi adicionada ou se <b>talvez</b> tenha sido.
+ * O tamanho do vetor de bits e a quantidade de funções de hash são calculados a partir da quantidade
+ * esperada de elementos e da taxa de falsos positivos desejada. Elementos não podem ser removidos.</p>
+ */
+public class StringBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Cria um filtro vazio dimensionado para a quantidade esperada de elementos.
+     *
+     * @param expectedInsertions Quantidade esperada de elementos.
+     * @param falsePositiveRate  Taxa de falsos positivos desejada (entre 0 e 1).
+     */
+    public StringBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Adiciona uma string ao filtro.
+     *
+     * @param value String a ser adicionada.
+     */
+    public void add(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Verifica se uma string pode ter sido adicionada ao filtro.
+     *
+     * @param value String a ser verificada.
+     * @return {@code false} se a string certamente não foi adicionada; {@code true} se talvez tenha sido.
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna a quantidade de funções de hash usadas.
+     *
+     * @return Quantidade de funções de hash.
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,7 +1,6 @@
 package com.devsuperior.dscatalog.services.validation;
 
 import com.devsuperior.dscatalog.dto.UserInsertDTO;
-import com.devsuperior.dscatalog.entities.User;
 import com.devsuperior.dscatalog.repositories.UserRepository;
 import com.devsuperior.dscatalog.resources.exceptions.FieldMessage;
 import jakarta.validation.ConstraintValidator;
@@ -16,6 +15,9 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
     @Override
     public void initialize(UserInsertValid ann) {
     }
@@ -25,9 +27,7 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
 
         List<FieldMessage> list = new ArrayList<>();
 
-        User user = repository.findByEmail(dto.getEmail());
-
-        if(user != null) {
+        if(emailFilter.mightExist(dto.getEmail()) && repository.existsByEmail(dto.getEmail())) {
             list.add(new FieldMessage("email", "Email já existe"));
         }
 
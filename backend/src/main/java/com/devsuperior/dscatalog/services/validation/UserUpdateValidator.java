@@ -2,7 +2,6 @@ package com.devsuperior.dscatalog.services.validation;
 
 import com.devsuperior.dscatalog.dto.UserInsertDTO;
 import com.devsuperior.dscatalog.dto.UserUpdateDTO;
-import com.devsuperior.dscatalog.entities.User;
 import com.devsuperior.dscatalog.repositories.UserRepository;
 import com.devsuperior.dscatalog.resources.exceptions.FieldMessage;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +13,7 @@ import org.springframework.web.servlet.HandlerMapping;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid, UserUpdateDTO> {
 
@@ -23,6 +23,9 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
     @Override
     public void initialize(UserUpdateValid ann) {
     }
@@ -36,9 +39,10 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
 
         List<FieldMessage> list = new ArrayList<>();
 
-        User user = repository.findByEmail(dto.getEmail());
+        Optional<Long> ownerId = emailFilter.mightExist(dto.getEmail())
+                ? repository.findIdByEmail(dto.getEmail()) : Optional.empty();
 
-        if(user != null && userId != user.getId()) {
+        if(ownerId.isPresent() && userId != ownerId.get()) {
             list.add(new FieldMessage("email", "Email já existe"));
         }
 
@@ -0,0 +1,92 @@
+package com.devsuperior.dscatalog.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.json.JacksonJsonParser;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.CatalogChangeLogService;
+import com.devsuperior.dscatalog.tests.TokenUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CatalogResourceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenUtil tokenUtil;
+
+	@Autowired
+	private CatalogChangeLogService changeLogService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void changesShouldListWritesInCommitOrder() throws Exception {
+		String token = tokenUtil.obtainAccessToken(mockMvc, TokenUtil.OPERATOR);
+		String since = changeLogService.currentToken();
+
+		String created = mockMvc.perform(post("/products")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.content("{\"name\":\"Produto do Feed\",\"description\":\"Produto criado pelo teste do feed\","
+						+ "\"price\":10.0,\"imgUrl\":\"img.jpg\",\"date\":\"2020-07-13T20:50:07Z\","
+						+ "\"categories\":[{\"id\":1}]}")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		long productId = ((Number) new JacksonJsonParser().parseMap(created).get("id")).longValue();
+		mockMvc.perform(put("/categories/{id}", 2L)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.content("{\"name\":\"Eletrônicos\"}")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/products/{id}", productId)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isNoContent());
+
+		List<String> expected = new ArrayList<>();
+		expected.add("PRODUCT INSERT " + productId);
+		expected.add("CATEGORY UPDATE 2");
+		for (Long id : productRepository.findIdsByCategory(2L)) {
+			expected.add("PRODUCT UPDATE " + id);
+		}
+		expected.add("PRODUCT DELETE " + productId);
+
+		String body = mockMvc.perform(get("/catalog/changes").param("since", since).param("limit", "1000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.hasMore").value(false))
+				.andReturn().getResponse().getContentAsString();
+		List<Map<String, Object>> changes =
+				(List<Map<String, Object>>) new JacksonJsonParser().parseMap(body).get("changes");
+		List<String> actual = new ArrayList<>();
+		long last = Long.parseLong(since);
+		for (Map<String, Object> change : changes) {
+			long position = ((Number) change.get("position")).longValue();
+			Assertions.assertTrue(position > last);
+			last = position;
+			actual.add(change.get("entityType") + " " + change.get("operation") + " " + change.get("entityId"));
+		}
+		Assertions.assertEquals(expected, actual);
+	}
+}
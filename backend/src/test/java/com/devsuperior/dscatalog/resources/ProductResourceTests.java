@@ -0,0 +1,174 @@
+package com.devsuperior.dscatalog.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.devsuperior.dscatalog.services.ProductJsonCache;
+import com.devsuperior.dscatalog.tests.TokenUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProductResourceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenUtil tokenUtil;
+
+	@Autowired
+	private ProductJsonCache jsonCache;
+
+	private String operatorToken;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		operatorToken = tokenUtil.obtainAccessToken(mockMvc, TokenUtil.OPERATOR);
+	}
+
+	private static String productJson(String name, long categoryId) {
+		return "{\"name\":\"" + name + "\",\"description\":\"Descrição do produto atualizado\","
+				+ "\"price\":100.0,\"imgUrl\":\"img.jpg\",\"date\":\"2020-07-13T20:50:07Z\","
+				+ "\"categories\":[{\"id\":" + categoryId + "}]}";
+	}
+
+	@Test
+	public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+		String etag = mockMvc.perform(get("/products/{id}", 4L))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/products/{id}", 4L).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+		mockMvc.perform(get("/products/{id}", 4L).header(HttpHeaders.IF_NONE_MATCH, "\"p4-999\""))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void findByIdShouldReturnNotModifiedWhenNotModifiedSince() throws Exception {
+		long id = 5L;
+		mockMvc.perform(put("/products/{id}", id)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + operatorToken)
+				.content(productJson("Produto Datado", 1L))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+		String lastModified = mockMvc.perform(get("/products/{id}", id))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+		Assertions.assertNotNull(lastModified);
+
+		mockMvc.perform(get("/products/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/products/{id}", id)
+				.header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2015 00:00:00 GMT"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void findAllShouldReturnNotModifiedUntilCatalogChanges() throws Exception {
+		String etag = mockMvc.perform(get("/products?page=0&size=5"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/products?page=0&size=5").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(put("/products/{id}", 6L)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + operatorToken)
+				.content(productJson("Produto Listado", 1L))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/products?page=0&size=5").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void findByIdShouldServeCachedGzipWithSameETagWhenAccepted() throws Exception {
+		long id = 7L;
+		MvcResult plain = mockMvc.perform(get("/products/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andReturn();
+		String etag = plain.getResponse().getHeader(HttpHeaders.ETAG);
+		Long version = Long.valueOf(etag.substring(etag.indexOf('-') + 1, etag.length() - 1));
+		Assertions.assertNotNull(jsonCache.get(id, version));
+
+		MvcResult gzip = mockMvc.perform(get("/products/{id}", id)
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andReturn();
+		Assertions.assertTrue(gzip.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+		byte[] compressed = gzip.getResponse().getContentAsByteArray();
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			Assertions.assertArrayEquals(plain.getResponse().getContentAsByteArray(), in.readAllBytes());
+		}
+
+		mockMvc.perform(get("/products/{id}", id)
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+				.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	public void updateShouldInvalidateCachedProductAfterCommit() throws Exception {
+		long id = 2L;
+		MvcResult first = mockMvc.perform(get("/products/{id}", id))
+				.andExpect(status().isOk())
+				.andReturn();
+		String oldEtag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(put("/products/{id}", id)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + operatorToken)
+				.content(productJson("Produto Atualizado", 1L))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+
+		MvcResult second = mockMvc.perform(get("/products/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Produto Atualizado"))
+				.andReturn();
+		Assertions.assertNotEquals(oldEtag, second.getResponse().getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	public void categoryUpdateShouldInvalidateCachedProductsOfCategory() throws Exception {
+		long productId = 3L;
+		long categoryId = 3L;
+		mockMvc.perform(get("/products/{id}", productId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.categories[0].id").value(categoryId));
+
+		mockMvc.perform(put("/categories/{id}", categoryId)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + operatorToken)
+				.content("{\"name\":\"Categoria Renomeada\"}")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/products/{id}", productId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.categories[0].name").value("Categoria Renomeada"));
+	}
+}
@@ -0,0 +1,120 @@
+package com.devsuperior.dscatalog.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.devsuperior.dscatalog.dto.UserDTO;
+import com.devsuperior.dscatalog.tests.TokenUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class UserResourceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenUtil tokenUtil;
+
+	@Test
+	public void securedEndpointsShouldReturnUnauthorizedWithoutValidToken() throws Exception {
+		mockMvc.perform(get("/users"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(put("/products/{id}", 1L)
+				.content("{}")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/users").header(HttpHeaders.AUTHORIZATION, "Bearer invalid.token.value"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	public void loginShouldReturnUnauthorizedWhenCredentialsAreInvalid() throws Exception {
+		UserDTO user = tokenUtil.createUser(TokenUtil.OPERATOR);
+
+		mockMvc.perform(post("/auth/login")
+				.content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"wrong-password\"}")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/auth/login")
+				.content("{\"email\":\"nobody@test.com\",\"password\":\"wrong-password\"}")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	public void findAllShouldReturnForbiddenForOperatorAndOkForAdmin() throws Exception {
+		String operatorToken = tokenUtil.obtainAccessToken(mockMvc, TokenUtil.OPERATOR);
+		String adminToken = tokenUtil.obtainAccessToken(mockMvc, TokenUtil.ADMIN);
+
+		mockMvc.perform(get("/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + operatorToken))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void insertShouldBePublicButOnlyAdminMayAssignRoles() throws Exception {
+		mockMvc.perform(post("/users")
+				.content(userJson("signup-" + System.nanoTime() + "@test.com", ""))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.roles").isEmpty());
+		// anônimo precisa se autenticar; um OPERATOR autenticado não pode atribuir papéis
+		mockMvc.perform(post("/users")
+				.content(userJson("signup-" + System.nanoTime() + "@test.com", "{\"id\":2}"))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isUnauthorized());
+		String operatorToken = tokenUtil.obtainAccessToken(mockMvc, TokenUtil.OPERATOR);
+		mockMvc.perform(post("/users")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + operatorToken)
+				.content(userJson("signup-" + System.nanoTime() + "@test.com", "{\"id\":2}"))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isForbidden());
+
+		String adminToken = tokenUtil.obtainAccessToken(mockMvc, TokenUtil.ADMIN);
+		mockMvc.perform(post("/users")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+				.content(userJson("signup-" + System.nanoTime() + "@test.com", "{\"id\":1}"))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isCreated());
+	}
+
+	@Test
+	public void updateShouldRevokePreviouslyIssuedTokens() throws Exception {
+		UserDTO admin = tokenUtil.createUser(TokenUtil.ADMIN);
+		String oldToken = tokenUtil.obtainAccessToken(mockMvc, admin.getEmail(), TokenUtil.PASSWORD);
+
+		mockMvc.perform(get("/users/{id}", admin.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+				.andExpect(status().isOk());
+		mockMvc.perform(put("/users/{id}", admin.getId())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken)
+				.content("{\"firstName\":\"Renamed\",\"lastName\":\"User\",\"email\":\"" + admin.getEmail()
+						+ "\",\"roles\":[{\"id\":2}]}")
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/users/{id}", admin.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+				.andExpect(status().isUnauthorized());
+		String newToken = tokenUtil.obtainAccessToken(mockMvc, admin.getEmail(), TokenUtil.PASSWORD);
+		mockMvc.perform(get("/users/{id}", admin.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + newToken))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.firstName").value("Renamed"));
+	}
+
+	private static String userJson(String email, String roles) {
+		return "{\"firstName\":\"New\",\"lastName\":\"User\",\"email\":\"" + email
+				+ "\",\"password\":\"" + TokenUtil.PASSWORD + "\",\"roles\":[" + roles + "]}";
+	}
+}
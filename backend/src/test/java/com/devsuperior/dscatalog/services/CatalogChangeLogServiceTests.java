@@ -0,0 +1,78 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.devsuperior.dscatalog.dto.CatalogChangeDTO;
+import com.devsuperior.dscatalog.dto.CatalogChangesDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+@SpringBootTest
+public class CatalogChangeLogServiceTests {
+
+	@Autowired
+	private CatalogChangeLogService changeLogService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Test
+	public void readerPollingDuringConcurrentWritesShouldSeeEveryChangeInPositionOrder() throws Exception {
+		String start = changeLogService.currentToken();
+		int writers = 4;
+		int updatesPerWriter = 15;
+
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int w = 0; w < writers; w++) {
+			long productId = 10L + w;
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < updatesPerWriter; i++) {
+					ProductDTO dto = productService.findById(productId);
+					dto.setName("Produto " + productId + " rev " + i);
+					productService.update(productId, dto);
+				}
+				return null;
+			}));
+		}
+
+		// o leitor acompanha o feed enquanto as escritas acontecem, como um consumidor real
+		List<Long> seen = new ArrayList<>();
+		String since = start;
+		boolean done = false;
+		while (!done) {
+			done = futures.stream().allMatch(Future::isDone);
+			CatalogChangesDTO page;
+			do {
+				page = changeLogService.findChanges(since, 50);
+				for (CatalogChangeDTO change : page.getChanges()) {
+					seen.add(change.getPosition());
+				}
+				since = page.getNext();
+			} while (page.getHasMore());
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		List<Long> all = new ArrayList<>();
+		CatalogChangesDTO full = changeLogService.findChanges(start, CatalogChangeLogService.MAX_LIMIT);
+		for (CatalogChangeDTO change : full.getChanges()) {
+			all.add(change.getPosition());
+		}
+		Assertions.assertEquals(writers * updatesPerWriter, all.size());
+		Assertions.assertEquals(all, seen);
+		for (int i = 1; i < seen.size(); i++) {
+			Assertions.assertTrue(seen.get(i) > seen.get(i - 1));
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.devsuperior.dscatalog.services.offheap;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapSlabStoreTests {
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void getShouldReturnValueOnlyForStoredVersion() {
+		OffHeapSlabStore store = new OffHeapSlabStore(1024, 256);
+		store.put(1L, 3L, bytes("{\"id\":1}"));
+
+		Assertions.assertArrayEquals(bytes("{\"id\":1}"), store.get(1L, 3L));
+		Assertions.assertNull(store.get(1L, 4L));
+		Assertions.assertNull(store.get(2L, 3L));
+		Assertions.assertEquals(1, store.hitCount());
+		Assertions.assertEquals(2, store.missCount());
+	}
+
+	@Test
+	public void putShouldReplacePreviousValue() {
+		OffHeapSlabStore store = new OffHeapSlabStore(1024, 256);
+		store.put(1L, 1L, bytes("old"));
+		store.put(1L, 2L, bytes("new"));
+
+		Assertions.assertNull(store.get(1L, 1L));
+		Assertions.assertArrayEquals(bytes("new"), store.get(1L, 2L));
+		Assertions.assertEquals(1, store.size());
+	}
+
+	@Test
+	public void putShouldRecycleOldestSlabWhenFull() {
+		OffHeapSlabStore store = new OffHeapSlabStore(200, 100);
+		store.put(1L, 1L, new byte[60]);
+		store.put(2L, 1L, new byte[60]);
+		store.put(3L, 1L, new byte[60]);
+
+		Assertions.assertNull(store.get(1L, 1L));
+		Assertions.assertNotNull(store.get(2L, 1L));
+		Assertions.assertNotNull(store.get(3L, 1L));
+		Assertions.assertEquals(1, store.evictionCount());
+		Assertions.assertEquals(200, store.allocatedBytes());
+	}
+
+	@Test
+	public void recyclingShouldKeepKeysRewrittenInOtherSlabs() {
+		OffHeapSlabStore store = new OffHeapSlabStore(300, 100);
+		store.put(1L, 1L, new byte[60]);
+		store.put(1L, 2L, new byte[60]);
+		store.put(2L, 1L, new byte[60]);
+		store.put(3L, 1L, new byte[60]);
+
+		Assertions.assertEquals(1, store.evictionCount());
+		Assertions.assertNotNull(store.get(1L, 2L));
+		Assertions.assertNotNull(store.get(2L, 1L));
+		Assertions.assertNotNull(store.get(3L, 1L));
+		Assertions.assertEquals(3, store.size());
+	}
+
+	@Test
+	public void putShouldRejectValueLargerThanSlab() {
+		OffHeapSlabStore store = new OffHeapSlabStore(200, 100);
+		store.put(1L, 1L, new byte[10]);
+
+		Assertions.assertFalse(store.put(1L, 2L, new byte[101]));
+		Assertions.assertNull(store.get(1L, 1L));
+	}
+
+	@Test
+	public void removeShouldDropKey() {
+		OffHeapSlabStore store = new OffHeapSlabStore(200, 100);
+		store.put(1L, 1L, bytes("x"));
+		store.remove(1L);
+
+		Assertions.assertNull(store.get(1L, 1L));
+		Assertions.assertEquals(0, store.size());
+	}
+}
@@ -0,0 +1,74 @@
+package com.devsuperior.dscatalog.services.popularity;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscatalog.services.popularity.PopularityScores.Scored;
+import com.devsuperior.dscatalog.services.popularity.PopularityScores.Window;
+
+public class PopularityScoresTests {
+
+	private static final long HOUR = 3_600_000L;
+
+	private PopularityScores scores;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		scores = new PopularityScores();
+		scores.load(Map.of(1L, 100L), 0L);
+	}
+
+	@Test
+	public void topShouldRankByScoreWithinWindow() {
+		scores.record(Map.of(2L, 5L, 3L, 10L), 0L);
+
+		List<Scored> top = scores.top(Window.HOUR, id -> true, 10);
+
+		Assertions.assertEquals(2, top.size());
+		Assertions.assertEquals(3L, top.get(0).getProductId());
+		Assertions.assertEquals(2L, top.get(1).getProductId());
+		Assertions.assertEquals(1L, scores.top(Window.ALL, id -> true, 10).get(0).getProductId());
+	}
+
+	@Test
+	public void recordShouldDecayOlderViews() {
+		scores.record(Map.of(2L, 10L), 0L);
+		scores.record(Map.of(3L, 5L), HOUR);
+
+		List<Scored> hour = scores.top(Window.HOUR, id -> true, 10);
+		List<Scored> week = scores.top(Window.WEEK, id -> true, 10);
+
+		Assertions.assertEquals(3L, hour.get(0).getProductId());
+		Assertions.assertEquals(10 * Math.exp(-1), hour.get(1).getScore(), 1e-9);
+		Assertions.assertEquals(2L, week.get(0).getProductId());
+		Assertions.assertEquals(110L, scores.totalOf(1L) + scores.totalOf(2L));
+	}
+
+	@Test
+	public void topShouldApplyFilterAndLimit() {
+		scores.record(Map.of(2L, 5L, 3L, 10L, 4L, 1L), 0L);
+
+		List<Scored> top = scores.top(Window.DAY, id -> id != 3L, 1);
+
+		Assertions.assertEquals(1, top.size());
+		Assertions.assertEquals(2L, top.get(0).getProductId());
+	}
+
+	@Test
+	public void removeShouldDropProductFromAllWindows() {
+		scores.remove(1L);
+
+		Assertions.assertTrue(scores.top(Window.ALL, id -> true, 10).isEmpty());
+		Assertions.assertEquals(0L, scores.totalOf(1L));
+	}
+
+	@Test
+	public void ofShouldRejectUnknownWindow() {
+		Assertions.assertEquals(Window.WEEK, Window.of("7d"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Window.of("2h"));
+	}
+}
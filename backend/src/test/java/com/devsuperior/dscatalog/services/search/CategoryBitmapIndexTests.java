@@ -0,0 +1,62 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CategoryBitmapIndexTests {
+
+	private CategoryBitmapIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new CategoryBitmapIndex();
+		index.put(1L, List.of(1L, 2L));
+		index.put(2L, List.of(1L));
+		index.put(3L, List.of(2L, 3L));
+		index.put(4L, List.of());
+	}
+
+	@Test
+	public void selectShouldEvaluateAndOrNotWithPrecedence() {
+		Assertions.assertEquals(List.of(1L), index.select("1,2").page(0, 10));
+		Assertions.assertEquals(List.of(1L, 2L, 3L), index.select("1|2").page(0, 10));
+		Assertions.assertEquals(List.of(2L, 4L), index.select("-2").page(0, 10));
+		Assertions.assertEquals(List.of(1L, 3L), index.select("1,2|3").page(0, 10));
+		Assertions.assertEquals(List.of(2L), index.select("(1|3),-2").page(0, 10));
+	}
+
+	@Test
+	public void selectShouldReturnFacetsAndPages() {
+		CategoryBitmapIndex.Selection selection = index.select("1|2");
+
+		Assertions.assertEquals(3L, selection.count());
+		Assertions.assertEquals(2L, selection.getFacets().get(1L));
+		Assertions.assertEquals(1L, selection.getFacets().get(3L));
+		Assertions.assertEquals(List.of(3L), selection.page(2, 2));
+		Assertions.assertTrue(selection.page(3, 2).isEmpty());
+	}
+
+	@Test
+	public void putShouldReplaceCategoriesAndSelectShouldRejectInvalidExpression() {
+		index.put(1L, List.of(3L));
+
+		Assertions.assertEquals(List.of(1L, 3L), index.select("3").page(0, 10));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> index.select("1,,2"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> index.select("(1|2"));
+	}
+
+	@Test
+	public void selectShouldRejectTooDeepOrTooLongExpression() {
+		String deep = "(".repeat(CategoryBitmapIndex.MAX_DEPTH + 1) + "1" + ")".repeat(CategoryBitmapIndex.MAX_DEPTH + 1);
+		String negations = "-".repeat(CategoryBitmapIndex.MAX_DEPTH + 1) + "1";
+		String nested = "(".repeat(CategoryBitmapIndex.MAX_DEPTH) + "1" + ")".repeat(CategoryBitmapIndex.MAX_DEPTH);
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> index.select(deep));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> index.select(negations));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> index.select("1|".repeat(500) + "1"));
+		Assertions.assertDoesNotThrow(() -> index.select(nested));
+	}
+}
@@ -0,0 +1,50 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscatalog.dto.ProductSearchHitDTO;
+
+public class ProductSearchIndexTests {
+
+	private ProductSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ProductSearchIndex();
+		index.index(1L, "Smart TV", "Televisão com tela grande", 2190.0, "tv.jpg");
+		index.index(2L, "PC Gamer", "Computador para jogos", 1200.0, "pc.jpg");
+		index.index(3L, "Macbook Pro", "Notebook para trabalho e jogos", 1250.0, "mac.jpg");
+	}
+
+	@Test
+	public void searchShouldRankNameMatchesFirst() {
+		List<ProductSearchHitDTO> result = index.search("jogos gamer", 10);
+
+		Assertions.assertEquals(2, result.size());
+		Assertions.assertEquals(2L, result.get(0).getId());
+	}
+
+	@Test
+	public void searchShouldTolerateTyposAndAccents() {
+		Assertions.assertEquals(2L, index.search("gmaer", 10).get(0).getId());
+		Assertions.assertEquals(1L, index.search("televisao", 10).get(0).getId());
+	}
+
+	@Test
+	public void searchShouldTolerateTwoEditsInLongTerms() {
+		Assertions.assertEquals(2L, index.search("computdr", 10).get(0).getId());
+		Assertions.assertTrue(index.search("gmar", 10).isEmpty());
+	}
+
+	@Test
+	public void searchShouldNotReturnProductAfterRemove() {
+		index.remove(2L);
+
+		Assertions.assertTrue(index.search("gamer", 10).isEmpty());
+		Assertions.assertEquals(2, index.size());
+	}
+}
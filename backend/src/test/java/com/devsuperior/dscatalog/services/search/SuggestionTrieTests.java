@@ -0,0 +1,55 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
+
+public class SuggestionTrieTests {
+
+	private SuggestionTrie trie;
+
+	@BeforeEach
+	void setUp() {
+		trie = new SuggestionTrie();
+		trie.put("PRODUCT", 1L, "Smart TV");
+		trie.put("PRODUCT", 2L, "PC Gamer");
+		trie.put("PRODUCT", 3L, "PC Gamer Tera");
+		trie.put("CATEGORY", 1L, "Eletrônicos");
+	}
+
+	@Test
+	public void suggestShouldMatchAnyWordStartIgnoringCaseAndAccents() {
+		Assertions.assertEquals(1L, trie.suggest("tv", 10).get(0).getId());
+		Assertions.assertEquals("CATEGORY", trie.suggest("ELETRO", 10).get(0).getType());
+		Assertions.assertEquals(2, trie.suggest("gam", 10).size());
+		Assertions.assertTrue(trie.suggest("xyz", 10).isEmpty());
+	}
+
+	@Test
+	public void suggestShouldRankByWeight() {
+		Assertions.assertEquals(2L, trie.suggest("pc g", 10).get(0).getId());
+
+		trie.updateWeight("PRODUCT", 3L, 100);
+
+		List<SuggestionDTO> result = trie.suggest("pc g", 10);
+		Assertions.assertEquals(3L, result.get(0).getId());
+		Assertions.assertEquals(2L, result.get(1).getId());
+	}
+
+	@Test
+	public void putShouldReplaceTextAndRemoveShouldPruneEntry() {
+		trie.put("PRODUCT", 1L, "Smart Watch");
+
+		Assertions.assertTrue(trie.suggest("tv", 10).isEmpty());
+		Assertions.assertEquals(1L, trie.suggest("watch", 10).get(0).getId());
+
+		trie.remove("PRODUCT", 1L);
+
+		Assertions.assertTrue(trie.suggest("smart", 10).isEmpty());
+		Assertions.assertEquals(3, trie.size());
+	}
+}
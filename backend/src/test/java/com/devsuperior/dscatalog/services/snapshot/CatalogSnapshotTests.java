@@ -0,0 +1,123 @@
+package com.devsuperior.dscatalog.services.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+public class CatalogSnapshotTests {
+
+	@TempDir
+	Path dir;
+
+	private static CategoryDTO category(long id, String name, long version) {
+		CategoryDTO dto = new CategoryDTO(id, name);
+		dto.setVersion(version);
+		return dto;
+	}
+
+	private Path write() throws IOException {
+		Path file = dir.resolve("catalog.snap");
+		try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file, 42L, 2)) {
+			writer.writeCategory(category(1L, "Livros", 0L), null);
+			writer.writeCategory(category(2L, "Eletrônicos", 3L), Instant.ofEpochMilli(5000L));
+
+			ProductDTO tv = new ProductDTO(5L, "Smart TV", "Descrição ç", 2190.0, "img.png", Instant.ofEpochMilli(1000L));
+			tv.setVersion(7L);
+			tv.getCategories().add(category(1L, "Livros", 0L));
+			tv.getCategories().add(category(2L, "Eletrônicos", 3L));
+			writer.writeProduct(tv, Instant.ofEpochMilli(9000L));
+
+			ProductDTO empty = new ProductDTO(9L, "Sem preço", null, null, null, null);
+			writer.writeProduct(empty, null);
+
+			Assertions.assertEquals(2, writer.finish());
+		}
+		return file;
+	}
+
+	@Test
+	public void findProductShouldReturnWrittenProductWithCategories() throws IOException {
+		CatalogSnapshot snapshot = CatalogSnapshot.open(write());
+
+		ProductDTO dto = snapshot.findProduct(5L);
+		Assertions.assertEquals("Smart TV", dto.getName());
+		Assertions.assertEquals("Descrição ç", dto.getDescription());
+		Assertions.assertEquals(2190.0, dto.getPrice());
+		Assertions.assertEquals(Instant.ofEpochMilli(1000L), dto.getDate());
+		Assertions.assertEquals(7L, dto.getVersion());
+		Assertions.assertEquals(2, dto.getCategories().size());
+		Assertions.assertEquals("Eletrônicos", dto.getCategories().get(1).getName());
+
+		ProductDTO empty = snapshot.findProduct(9L);
+		Assertions.assertNull(empty.getPrice());
+		Assertions.assertNull(empty.getDescription());
+		Assertions.assertNull(empty.getDate());
+		Assertions.assertTrue(empty.getCategories().isEmpty());
+	}
+
+	@Test
+	public void findShouldReturnNullForMissingIds() throws IOException {
+		CatalogSnapshot snapshot = CatalogSnapshot.open(write());
+
+		Assertions.assertNull(snapshot.findProduct(1L));
+		Assertions.assertNull(snapshot.findProduct(6L));
+		Assertions.assertNull(snapshot.findProduct(10L));
+		Assertions.assertNull(snapshot.findCategory(3L));
+	}
+
+	@Test
+	public void versionLookupsShouldReturnVersionAndUpdatedAt() throws IOException {
+		CatalogSnapshot snapshot = CatalogSnapshot.open(write());
+
+		Assertions.assertArrayEquals(new long[] { 7L, 9000L }, snapshot.findProductVersion(5L));
+		Assertions.assertArrayEquals(new long[] { Long.MIN_VALUE, Long.MIN_VALUE }, snapshot.findProductVersion(9L));
+		Assertions.assertArrayEquals(new long[] { 3L, 5000L }, snapshot.findCategoryVersion(2L));
+		Assertions.assertArrayEquals(new long[] { 1L, 2L }, snapshot.findProductCategoryIds(5L));
+		Assertions.assertEquals(0, snapshot.findProductCategoryIds(9L).length);
+	}
+
+	@Test
+	public void openShouldExposeHeader() throws IOException {
+		CatalogSnapshot snapshot = CatalogSnapshot.open(write());
+
+		Assertions.assertEquals(42L, snapshot.getChangePosition());
+		Assertions.assertEquals(2, snapshot.getProductCount());
+		Assertions.assertEquals(2, snapshot.getCategoryCount());
+	}
+
+	@Test
+	public void openShouldRejectIncompleteFile() throws IOException {
+		Path file = dir.resolve("broken.snap");
+		try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file, 0L, 0)) {
+			writer.writeProduct(new ProductDTO(1L, "A", null, null, null, null), null);
+		}
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.open(file));
+	}
+
+	@Test
+	public void writeProductShouldRejectUnorderedIds() throws IOException {
+		try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(dir.resolve("x.snap"), 0L, 0)) {
+			writer.writeProduct(new ProductDTO(2L, "B", null, null, null, null), null);
+
+			Assertions.assertThrows(IllegalArgumentException.class,
+					() -> writer.writeProduct(new ProductDTO(1L, "A", null, null, null, null), null));
+		}
+	}
+
+	@Test
+	public void writeProductShouldRequireAllCategoriesFirst() throws IOException {
+		try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(dir.resolve("y.snap"), 0L, 1)) {
+			Assertions.assertThrows(IllegalStateException.class,
+					() -> writer.writeProduct(new ProductDTO(1L, "A", null, null, null, null), null));
+		}
+	}
+}
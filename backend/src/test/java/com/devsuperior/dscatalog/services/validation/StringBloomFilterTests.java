@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.services.validation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StringBloomFilterTests {
+
+	@Test
+	public void mightContainShouldNeverMissAddedValues() {
+		StringBloomFilter filter = new StringBloomFilter(10000, 0.01);
+		for (int i = 0; i < 10000; i++) {
+			filter.add("user" + i + "@gmail.com");
+		}
+
+		for (int i = 0; i < 10000; i++) {
+			Assertions.assertTrue(filter.mightContain("user" + i + "@gmail.com"));
+		}
+	}
+
+	@Test
+	public void mightContainShouldKeepFalsePositivesNearConfiguredRate() {
+		StringBloomFilter filter = new StringBloomFilter(10000, 0.01);
+		for (int i = 0; i < 10000; i++) {
+			filter.add("user" + i + "@gmail.com");
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 10000; i++) {
+			if (filter.mightContain("other" + i + "@gmail.com")) {
+				falsePositives++;
+			}
+		}
+		Assertions.assertTrue(falsePositives < 300);
+	}
+}
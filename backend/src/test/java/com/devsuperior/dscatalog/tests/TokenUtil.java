@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.tests;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.json.JacksonJsonParser;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.devsuperior.dscatalog.dto.RoleDTO;
+import com.devsuperior.dscatalog.dto.UserDTO;
+import com.devsuperior.dscatalog.dto.UserInsertDTO;
+import com.devsuperior.dscatalog.services.UserService;
+
+@Component
+public class TokenUtil {
+
+	public static final long OPERATOR = 1L;
+	public static final long ADMIN = 2L;
+	public static final String PASSWORD = "test-password-123";
+
+	private static final AtomicInteger counter = new AtomicInteger();
+
+	@Autowired
+	private UserService userService;
+
+	public UserDTO createUser(Long... roleIds) {
+		UserInsertDTO dto = new UserInsertDTO();
+		dto.setFirstName("Test");
+		dto.setLastName("User");
+		dto.setEmail("test" + counter.incrementAndGet() + "-" + System.nanoTime() + "@test.com");
+		dto.setPassword(PASSWORD);
+		for (Long roleId : roleIds) {
+			dto.getRoles().add(new RoleDTO(roleId, null));
+		}
+		return userService.insert(dto);
+	}
+
+	public String obtainAccessToken(MockMvc mockMvc, String email, String password) throws Exception {
+		String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+		String result = mockMvc.perform(post("/auth/login")
+				.content(body)
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return new JacksonJsonParser().parseMap(result).get("accessToken").toString();
+	}
+
+	public String obtainAccessToken(MockMvc mockMvc, Long... roleIds) throws Exception {
+		return obtainAccessToken(mockMvc, createUser(roleIds).getEmail(), PASSWORD);
+	}
+}